@@ -8,6 +8,7 @@ plugins {
     id("java-gradle-plugin")
     id("com.adarshr.test-logger") version ("2.0.0")
     id("com.gradle.plugin-publish") version ("0.11.0")
+    id("me.champeau.jmh") version ("0.6.6")
 }
 
 group = "com.nocwriter.runsql"
@@ -97,6 +98,11 @@ dependencies {
     iTestImplementation("org.assertj:assertj-core:3.15.0")
     iTestImplementation("org.hsqldb:hsqldb:2.5.0")
     iTestImplementation("org.hsqldb:hsqldb:2.5.0:sources")
+
+    //
+    // Benchmarks (source set 'jmh' is created by the JMH plugin).
+    //
+    jmh("org.hsqldb:hsqldb:2.5.0")
 }
 
 tasks.withType<Test> {
@@ -114,6 +120,18 @@ val integrationTest = task<Test>("integrationTest") {
     classpath = sourceSets["iTest"].runtimeClasspath
 }
 
+//
+// JMH benchmarks configuration. Run with './gradlew jmh'; results are written to 'build/results/jmh/results.json',
+// so they can be compared between revisions.
+//
+jmh {
+    jmhVersion.set("1.33")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
+
 //
 // Test listener to display tests status and logging.
 //
@@ -7,6 +7,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,4 +93,79 @@ public class ExecuteScriptITest extends GradleIntegrationTestBase {
             }
         }
     }
+
+    /**
+     * Execute the same task twice. Since neither the task's properties nor the script file changed, the second
+     * execution should be skipped by Gradle as up-to-date.
+     */
+    @Test
+    @DisplayName("Test should report unchanged task as up-to-date")
+    public void testShouldReportUnchangedTaskAsUpToDate() throws IOException {
+        useBuildScript("/test_scripts/custom_sql_task_script");
+        copy("/create_books_table.sql", "create_books_table.sql");
+
+        GradleRunner runner = GradleRunner.create()
+                .withProjectDir(testProjectDir)
+                .withArguments(":createTable", "--stacktrace", "--info")
+                .withPluginClasspath()
+                .withGradleVersion(REQUIRED_GRADLE_VERSION);
+
+        BuildResult firstResult = runner.build();
+        dumpTestOutput(firstResult);
+        assertThat(firstResult.task(":createTable").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+
+        BuildResult secondResult = runner.build();
+        dumpTestOutput(secondResult);
+        assertThat(secondResult.task(":createTable").getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+    }
+
+    /**
+     * Execute an incremental task three times: the second execution should skip the unchanged script file, while the
+     * third one should execute it again, since it was modified in between.
+     */
+    @Test
+    @DisplayName("Test should skip unchanged script in incremental mode")
+    public void testShouldSkipUnchangedScriptInIncrementalMode() throws IOException, SQLException {
+        useBuildScript("/test_scripts/custom_sql_task_script");
+        Path scriptFile = testProjectDir.toPath().resolve("insert_book.sql");
+        Files.write(scriptFile, "INSERT INTO books (name) VALUES ('Book 1');".getBytes(StandardCharsets.UTF_8));
+
+        GradleRunner runner = GradleRunner.create()
+                .withProjectDir(testProjectDir)
+                .withPluginClasspath()
+                .withGradleVersion(REQUIRED_GRADLE_VERSION);
+        dumpTestOutput(runner.withArguments(":createTableOnly", "--stacktrace", "--info").build());
+        runner.withArguments(":insertBookIncrementally", "--stacktrace", "--info");
+
+        BuildResult firstResult = runner.build();
+        dumpTestOutput(firstResult);
+        assertThat(firstResult.task(":insertBookIncrementally").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        assertThat(countBooks()).isEqualTo(1);
+
+        BuildResult secondResult = runner.build();
+        dumpTestOutput(secondResult);
+        assertThat(secondResult.task(":insertBookIncrementally").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        assertThat(secondResult.getOutput()).contains("Skipping unchanged script");
+        assertThat(countBooks()).isEqualTo(1);
+
+        Files.write(scriptFile, "INSERT INTO books (name) VALUES ('Book 2');".getBytes(StandardCharsets.UTF_8));
+        BuildResult thirdResult = runner.build();
+        dumpTestOutput(thirdResult);
+        assertThat(thirdResult.task(":insertBookIncrementally").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        assertThat(countBooks()).isEqualTo(2);
+    }
+
+    /**
+     * @return Number of rows in the 'books' table of the test database.
+     */
+    private int countBooks() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(getUrl(), USERNAME, PASSWORD)) {
+            try (Statement statement = connection.createStatement()) {
+                @SuppressWarnings("SqlResolve")
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM books;");
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
 }
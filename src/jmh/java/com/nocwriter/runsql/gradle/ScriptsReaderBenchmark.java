@@ -0,0 +1,68 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.script.BenchmarkScripts;
+import com.nocwriter.runsql.script.ScriptParser;
+import com.nocwriter.runsql.script.StatementSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading script files via {@link ScriptsReader} and streaming them through {@link ScriptParser}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScriptsReaderBenchmark {
+
+    /**
+     * Type of script to read (see {@link BenchmarkScripts#generate(String)}).
+     */
+    @Param({"large", "commentHeavy"})
+    public String scriptType;
+
+    private File scriptFile;
+
+    private ScriptObject scriptObject;
+
+    private ScriptParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        scriptFile = File.createTempFile("runsql_benchmark_", ".sql");
+        Files.write(scriptFile.toPath(), BenchmarkScripts.generate(scriptType), StandardCharsets.UTF_8);
+        scriptObject = new ScriptObject(scriptFile, null);
+        parser = new ScriptParser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        scriptFile.delete();
+    }
+
+    @Benchmark
+    public void readScriptFile(Blackhole blackhole) throws IOException {
+        try (StatementSource statements = scriptObject.openStatements(parser)) {
+            while (statements.hasNext()) {
+                blackhole.consume(statements.next());
+            }
+        }
+    }
+}
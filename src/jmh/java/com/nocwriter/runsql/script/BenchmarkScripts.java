@@ -0,0 +1,84 @@
+package com.nocwriter.runsql.script;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic SQL scripts for benchmarks.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class BenchmarkScripts {
+
+    /**
+     * Generate a script by its type name:
+     * <ul>
+     *     <li><i>small</i> -- a handful of DDL and DML statements.</li>
+     *     <li><i>large</i> -- a table definition followed by 100,000 single-line INSERT statements.</li>
+     *     <li><i>commentHeavy</i> -- multi-line statements interleaved with comment lines and trailing comments.</li>
+     *     <li><i>quoteHeavy</i> -- statements with long quoted literals containing ';', '--' and other quotes.</li>
+     * </ul>
+     *
+     * @param type Script type name.
+     * @return Script lines.
+     */
+    public static List<String> generate(String type) {
+        switch (type) {
+            case "small":
+                return insertScript(10);
+            case "large":
+                return insertScript(100_000);
+            case "commentHeavy":
+                return commentHeavyScript(20_000);
+            case "quoteHeavy":
+                return quoteHeavyScript(20_000);
+            default:
+                throw new IllegalArgumentException("Unknown script type: " + type);
+        }
+    }
+
+    /**
+     * Generate a table definition followed by single-line INSERT statements into {@code books} table.
+     *
+     * @param rows Number of INSERT statements.
+     * @return Script lines.
+     */
+    public static List<String> insertScript(int rows) {
+        List<String> lines = new ArrayList<>(rows + 8);
+        lines.add("-- Create new table.");
+        lines.add("CREATE TABLE books");
+        lines.add("(");
+        lines.add("    id     INT PRIMARY KEY,");
+        lines.add("    name   VARCHAR(100),");
+        lines.add("    author VARCHAR(100)");
+        lines.add(");");
+        for (int index = 0; index < rows; index++) {
+            lines.add("INSERT INTO books (id, name, author) VALUES (" + index + ", 'Book #" + index +
+                    "', 'Author #" + (index % 100) + "');");
+        }
+        return lines;
+    }
+
+    private static List<String> commentHeavyScript(int statements) {
+        List<String> lines = new ArrayList<>(statements * 6);
+        for (int index = 0; index < statements; index++) {
+            lines.add("-- Statement #" + index + ": update author's name.");
+            lines.add("");
+            lines.add("UPDATE books          -- target table");
+            lines.add("   SET author = 'Author #" + index + "'   -- new value");
+            lines.add("   -- filter by primary key");
+            lines.add(" WHERE id = " + index + ";");
+        }
+        return lines;
+    }
+
+    private static List<String> quoteHeavyScript(int statements) {
+        List<String> lines = new ArrayList<>(statements);
+        for (int index = 0; index < statements; index++) {
+            lines.add("INSERT INTO quotes (id, text) VALUES (" + index + ", 'He said: \"stop; -- now\"; " +
+                    "she replied: \"no; it''s fine\" -- and again: \"stop;\"', \"double 'quoted'; value\");");
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,67 @@
+package com.nocwriter.runsql.script;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ScriptParser}, covering both in-memory and streaming parsing.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScriptParserBenchmark {
+
+    /**
+     * Type of script to parse (see {@link BenchmarkScripts#generate(String)}).
+     */
+    @Param({"small", "large", "commentHeavy", "quoteHeavy"})
+    public String scriptType;
+
+    /**
+     * Whether the parser keeps newlines within multi-line statements.
+     */
+    @Param({"true", "false"})
+    public boolean keepNewlines;
+
+    private List<String> lines;
+
+    private String text;
+
+    private ScriptParser parser;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkScripts.generate(scriptType);
+        text = String.join("\n", lines);
+        parser = new ScriptParser(keepNewlines);
+    }
+
+    @Benchmark
+    public List<SQLStatement> parseInMemoryScript() {
+        return parser.parseScript(lines);
+    }
+
+    @Benchmark
+    public void parseStreamedScript(Blackhole blackhole) throws IOException {
+        try (StatementSource statements = parser.iterateScript(new StringReader(text))) {
+            while (statements.hasNext()) {
+                blackhole.consume(statements.next());
+            }
+        }
+    }
+}
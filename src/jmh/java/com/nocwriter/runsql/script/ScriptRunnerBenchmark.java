@@ -0,0 +1,99 @@
+package com.nocwriter.runsql.script;
+
+import com.nocwriter.runsql.gradle.ScriptObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ScriptRunner#executeSQL(ScriptObject)} against an in-memory HSQLDB database.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class ScriptRunnerBenchmark {
+
+    /**
+     * JDBC URL for HSQLDB in-memory database.
+     */
+    private static final String URL = "jdbc:hsqldb:mem:benchmark";
+
+    /**
+     * Number of INSERT statements per script.
+     */
+    @Param({"1000", "10000"})
+    public int rows;
+
+    /**
+     * JDBC batch size ({@code 0} disables batching).
+     */
+    @Param({"0", "100"})
+    public int batchSize;
+
+    /**
+     * Whether each statement is committed on its own.
+     */
+    @Param({"true", "false"})
+    public boolean autoCommit;
+
+    private Connection connection;
+
+    private ScriptObject scriptObject;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, "SA", "");
+
+        // The table is created once per trial; each invocation only inserts rows (see dropRows()).
+        List<String> lines = BenchmarkScripts.insertScript(rows);
+        ScriptObject createTable = new ScriptObject();
+        createTable.statements = new ScriptParser().parseScript(lines.subList(0, 7));
+        new ScriptRunner(connection).executeSQL(createTable);
+
+        scriptObject = new ScriptObject();
+        scriptObject.statements = new ScriptParser().parseScript(lines.subList(7, lines.size()));
+    }
+
+    @Setup(Level.Invocation)
+    public void dropRows() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve,SqlWithoutWhere
+            statement.execute("DELETE FROM books");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            statement.execute("DROP TABLE books");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void executeScript() {
+        ScriptRunner runner = new ScriptRunner(connection);
+        runner.autoCommit = autoCommit;
+        runner.batchSize = batchSize;
+        runner.executeSQL(scriptObject);
+    }
+}
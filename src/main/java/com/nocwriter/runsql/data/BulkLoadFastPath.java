@@ -0,0 +1,50 @@
+package com.nocwriter.runsql.data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Vendor-specific bulk load mechanism (e.g.: PostgreSQL's {@code COPY}), used by {@link DataLoader} in place of
+ * batched {@code INSERT} statements when the connection supports it.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public interface BulkLoadFastPath {
+
+    /**
+     * Check if this fast path can load data over a given connection.
+     *
+     * @param connection JDBC connection.
+     * @return {@code true} if supported, {@code false} otherwise.
+     */
+    boolean supports(Connection connection);
+
+    /**
+     * @param table   Target table.
+     * @param columns Target columns.
+     * @param format  Data format.
+     * @param header  Whether the data starts with a header record that should be skipped.
+     * @return Statement describing the bulk load (used for reporting).
+     */
+    String describe(String table, List<String> columns, DataFormat format, boolean header);
+
+    /**
+     * Load data into a table.
+     *
+     * @param connection JDBC connection.
+     * @param data       Data to load, starting at the first record (including the header, if any).
+     * @param table      Target table.
+     * @param columns    Target columns, in data order.
+     * @param format     Data format.
+     * @param header     Whether the data starts with a header record that should be skipped.
+     * @return Number of loaded rows.
+     * @throws SQLException If the database rejected the data.
+     * @throws IOException  If the data could not be read.
+     */
+    long load(Connection connection, Reader data, String table, List<String> columns, DataFormat format,
+              boolean header) throws SQLException, IOException;
+}
@@ -0,0 +1,46 @@
+package com.nocwriter.runsql.data;
+
+import com.nocwriter.runsql.script.Compression;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Formats of delimited data files supported by {@link DataLoader}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public enum DataFormat {
+
+    /**
+     * Comma-separated values.
+     */
+    CSV(','),
+
+    /**
+     * Tab-separated values.
+     */
+    TSV('\t');
+
+    /**
+     * Field delimiter.
+     */
+    public final char delimiter;
+
+    DataFormat(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Detect data format by file extension: '.tsv' and '.tab' files are tab-separated, all other files are
+     * comma-separated. A compression extension is ignored (e.g.: 'users.tsv.gz' is tab-separated).
+     *
+     * @param dataFile Data file.
+     * @return Data format.
+     */
+    public static DataFormat fromFileName(File dataFile) {
+        String name = Compression.stripExtension(dataFile).toLowerCase(Locale.ROOT);
+        return name.endsWith(".tsv") || name.endsWith(".tab") ? TSV : CSV;
+    }
+}
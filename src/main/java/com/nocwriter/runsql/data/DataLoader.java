@@ -0,0 +1,362 @@
+package com.nocwriter.runsql.data;
+
+import com.nocwriter.runsql.RunSQLException;
+import com.nocwriter.runsql.jdbc.ParameterBinder;
+import com.nocwriter.runsql.script.Compression;
+import com.nocwriter.runsql.script.ExecutionMetrics;
+import com.nocwriter.runsql.script.SQLStatement;
+import com.nocwriter.runsql.script.ScriptRunner;
+import com.nocwriter.runsql.script.StatementMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Loads delimited data files (CSV/TSV) into database tables. Rows are streamed from the file and inserted via a single
+ * {@link PreparedStatement} in JDBC batches, so neither the file nor its rows are held in memory, and the database
+ * parses the {@code INSERT} statement once. If the connection supports a vendor-specific bulk load mechanism (see
+ * {@link #fastPaths}), it is used instead.<p>
+ * <p>
+ * Target columns are read from the file's header record (or set explicitly via {@link #columns}). Values are
+ * converted to the column types reported by the database (numbers, dates, times, timestamps and booleans); empty
+ * unquoted values are loaded as NULL. Table and column names are embedded in SQL text, so they must be plain
+ * identifiers (letters, digits, '_' and '$') or double-quoted identifiers; a table name may be schema-qualified.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class DataLoader {
+
+    /**
+     * Table or column name: a plain identifier or a double-quoted one.
+     */
+    private static final String IDENTIFIER = "([A-Za-z_][A-Za-z0-9_$]*|\"[^\"]+\")";
+
+    /**
+     * Valid column name.
+     */
+    private static final Pattern COLUMN_NAME = Pattern.compile(IDENTIFIER);
+
+    /**
+     * Valid table name, optionally schema-qualified.
+     */
+    private static final Pattern TABLE_NAME = Pattern.compile("(" + IDENTIFIER + "\\.)?" + IDENTIFIER);
+
+    /**
+     * Number of rows to send to the database in a single JDBC batch.
+     */
+    public int batchSize = 1000;
+
+    /**
+     * Commit after every given number of rows. {@code 0} (the default) loads each file in a single transaction. Not
+     * applicable to fast paths, which load a file in a single operation.
+     */
+    public long commitInterval = 0;
+
+    /**
+     * Indicates if data files start with a header record holding column names.
+     */
+    public boolean header = true;
+
+    /**
+     * Charset of data files.
+     */
+    public Charset encoding = StandardCharsets.UTF_8;
+
+    /**
+     * Target columns, in data order. If {@code null}, columns are read from the header record.
+     */
+    public List<String> columns;
+
+    /**
+     * Vendor-specific bulk load mechanisms, tried in order. The first one supporting the connection is used.
+     */
+    public List<BulkLoadFastPath> fastPaths = new ArrayList<>(Collections.singletonList(new PostgresCopyFastPath()));
+
+    /**
+     * Collector of execution metrics (one entry per loaded file). If {@code null}, no metrics are recorded.
+     */
+    public ExecutionMetrics metrics;
+
+    /**
+     * JDBC connection to load data with.
+     */
+    private final Connection connection;
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
+
+    /**
+     * Class constructor.
+     *
+     * @param connection JDBC connection.
+     */
+    public DataLoader(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null.");
+        }
+        this.connection = connection;
+    }
+
+    /**
+     * Load a data file into a table, committing once done.
+     *
+     * @param dataFile Data file to load.
+     * @param table    Target table.
+     * @param format   Data format.
+     * @return Number of loaded rows.
+     */
+    public long load(File dataFile, String table, DataFormat format) {
+        if (columns == null && !header) {
+            throw new RunSQLException("Target columns must be set for data files without a header (file: " +
+                    dataFile + ").");
+        }
+
+        List<String> targetColumns = columns != null ? columns : readHeader(dataFile, format);
+        if (targetColumns.isEmpty()) {
+            throw new RunSQLException("No columns to load (file: " + dataFile + ").");
+        }
+
+        // Names come from file names and header records, and are embedded in SQL text.
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new RunSQLException("Invalid table name '" + table + "' (file: " + dataFile + ").");
+        }
+        for (String column : targetColumns) {
+            if (!COLUMN_NAME.matcher(column).matches()) {
+                throw new RunSQLException("Invalid column name '" + column + "' (file: " + dataFile + ").");
+            }
+        }
+
+        boolean autoCommit = true;
+        try {
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            long startTime = System.nanoTime();
+            BulkLoadFastPath fastPath = selectFastPath();
+            String sql;
+            long rows;
+            if (fastPath != null) {
+                sql = fastPath.describe(table, targetColumns, format, header);
+                try (Reader reader = openDataFile(dataFile)) {
+                    rows = fastPath.load(connection, reader, table, targetColumns, format, header);
+                } catch (SQLException ex) {
+                    throw new RunSQLException("Bulk load failed (file: " + dataFile + ").", ex);
+                }
+            } else {
+                sql = insertStatement(table, targetColumns);
+                rows = insertRows(dataFile, format, targetColumns, sql);
+            }
+            connection.commit();
+
+            long elapsedNanos = System.nanoTime() - startTime;
+            logger.info("Loaded {} rows from {} into {} ({} ms).", rows, dataFile, table, elapsedNanos / 1_000_000);
+            if (metrics != null) {
+                metrics.record(new StatementMetrics(dataFile.toString(), new SQLStatement(1, sql), elapsedNanos,
+                        rows, -1));
+            }
+            return rows;
+        } catch (RunSQLException ex) {
+            rollback();
+            throw ex;
+        } catch (SQLException | IOException ex) {
+            rollback();
+            throw new RunSQLException("Failed to load data file " + dataFile + ".", ex);
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommit);
+            } catch (SQLException ex) {
+                logger.warn("Failed to restore auto-commit mode.", ex);
+            }
+        }
+    }
+
+    /**
+     * Stream rows of a data file into the database via batched {@code INSERT} statements.
+     *
+     * @return Number of inserted rows.
+     */
+    private long insertRows(File dataFile, DataFormat format, List<String> targetColumns, String sql)
+            throws SQLException, IOException {
+        try (DelimitedRecordReader records = new DelimitedRecordReader(openDataFile(dataFile), format.delimiter);
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            int[] types = columnTypes(statement, targetColumns.size());
+            int[] batchLines = new int[Math.max(batchSize, 1)];
+            int batchCount = 0;
+            long rows = 0;
+
+            if (header) {
+                records.next();
+            }
+
+            String[] record;
+            while ((record = records.next()) != null) {
+                if (record.length != types.length) {
+                    throw new RunSQLException(String.format("Expected %d values, found %d (file: %s, line: %d).",
+                            types.length, record.length, dataFile, records.getLineNumber()));
+                }
+
+                for (int index = 0; index < record.length; index++) {
+                    bind(statement, index + 1, types[index], record[index], dataFile, records.getLineNumber());
+                }
+                statement.addBatch();
+                batchLines[batchCount++] = records.getLineNumber();
+                rows++;
+
+                if (batchCount == batchLines.length) {
+                    executeBatch(statement, batchLines, batchCount, dataFile);
+                    batchCount = 0;
+                }
+                if (commitInterval > 0 && rows % commitInterval == 0) {
+                    executeBatch(statement, batchLines, batchCount, dataFile);
+                    batchCount = 0;
+                    connection.commit();
+                }
+            }
+
+            executeBatch(statement, batchLines, batchCount, dataFile);
+            return rows;
+        }
+    }
+
+    /**
+     * Execute pending batched rows, mapping a failure back to the data file line of the failing row.
+     */
+    private static void executeBatch(PreparedStatement statement, int[] batchLines, int batchCount, File dataFile)
+            throws SQLException {
+        if (batchCount == 0) {
+            return;
+        }
+
+        try {
+            statement.executeBatch();
+        } catch (BatchUpdateException ex) {
+            int line = batchLines[ScriptRunner.failedBatchIndex(ex, batchCount)];
+            throw new RunSQLException(
+                    String.format("Failed to insert row (file: %s, line: %d).", dataFile, line), ex);
+        }
+    }
+
+    /**
+     * Bind a single value, converting it to the column's type.
+     */
+    private static void bind(PreparedStatement statement, int parameter, int type, String value, File dataFile,
+                             int lineNumber) throws SQLException {
+        try {
+            ParameterBinder.bind(statement, parameter, type, value);
+        } catch (IllegalArgumentException ex) {
+            throw new RunSQLException(String.format("Invalid value '%s' in column %d (file: %s, line: %d).",
+                    value, parameter, dataFile, lineNumber), ex);
+        }
+    }
+
+    /**
+     * Resolve SQL types of the target columns, so values can be converted before binding.
+     */
+    private static int[] columnTypes(PreparedStatement statement, int columnCount) {
+        int[] types = new int[columnCount];
+
+        // Parameter metadata is not supported by all drivers; fall back to character data in that case.
+        try {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            for (int index = 0; index < columnCount; index++) {
+                types[index] = metaData.getParameterType(index + 1);
+            }
+        } catch (SQLException ex) {
+            logger.debug("Parameter metadata is not available, binding values as strings.", ex);
+            Arrays.fill(types, Types.VARCHAR);
+        }
+        return types;
+    }
+
+    /**
+     * @return The first fast path supporting the connection, or {@code null} if none does.
+     */
+    private BulkLoadFastPath selectFastPath() {
+        for (BulkLoadFastPath fastPath : fastPaths) {
+            if (fastPath.supports(connection)) {
+                return fastPath;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read column names out of a data file's header record.
+     */
+    private List<String> readHeader(File dataFile, DataFormat format) {
+        try (DelimitedRecordReader records = new DelimitedRecordReader(openDataFile(dataFile), format.delimiter)) {
+            String[] header = records.next();
+            if (header == null) {
+                return Collections.emptyList();
+            }
+
+            List<String> columns = new ArrayList<>(header.length);
+            for (String column : header) {
+                if (column == null || column.trim().isEmpty()) {
+                    throw new RunSQLException("Empty column name in header (file: " + dataFile + ").");
+                }
+                columns.add(column.trim());
+            }
+            return columns;
+        } catch (IOException ex) {
+            throw new RunSQLException("Failed to read data file " + dataFile + ".", ex);
+        }
+    }
+
+    /**
+     * @return Buffered reader of a data file (decompressed, if required), decoding it with {@link #encoding}.
+     */
+    private Reader openDataFile(File dataFile) throws IOException {
+        return Compression.fromFileName(dataFile) != Compression.NONE ?
+                new BufferedReader(new InputStreamReader(Compression.open(dataFile), encoding.newDecoder())) :
+                Files.newBufferedReader(dataFile.toPath(), encoding);
+    }
+
+    /**
+     * @return Parameterized {@code INSERT} statement for the target columns.
+     */
+    private static String insertStatement(String table, List<String> columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(table)
+                .append(" (")
+                .append(String.join(", ", columns))
+                .append(") VALUES (");
+        for (int index = 0; index < columns.size(); index++) {
+            sql.append(index == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * Roll back a failed load.
+     */
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            logger.warn("Failed to roll back data load.", ex);
+        }
+    }
+}
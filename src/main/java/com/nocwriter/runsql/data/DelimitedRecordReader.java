@@ -0,0 +1,188 @@
+package com.nocwriter.runsql.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of delimited (CSV/TSV) records. Follows RFC 4180: fields may be enclosed in double quotes, in which
+ * case they may contain delimiters, line breaks and escaped quotes ({@code ""}). Records are terminated by either
+ * '\n', '\r' or "\r\n".<p>
+ * <p>
+ * An empty unquoted field is read as {@code null} (SQL NULL), while an empty quoted field ({@code ""}) is read as an
+ * empty string -- the same convention used by PostgreSQL's {@code COPY ... CSV}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class DelimitedRecordReader implements Closeable {
+
+    /**
+     * Source of characters.
+     */
+    private final Reader reader;
+
+    /**
+     * Field delimiter.
+     */
+    private final char delimiter;
+
+    /**
+     * Character buffer.
+     */
+    private final char[] chars = new char[8192];
+
+    /**
+     * Offset of the next character to read from {@link #chars}.
+     */
+    private int position = 0;
+
+    /**
+     * Number of valid characters in {@link #chars}.
+     */
+    private int limit = 0;
+
+    /**
+     * Current line number (1-based).
+     */
+    private int lineNumber = 1;
+
+    /**
+     * Line number the last record returned by {@link #next()} starts at.
+     */
+    private int recordLineNumber = 0;
+
+    /**
+     * Class constructor.
+     *
+     * @param reader    Source of characters.
+     * @param delimiter Field delimiter.
+     */
+    public DelimitedRecordReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Read the next record. Blank lines are skipped.
+     *
+     * @return Fields of the next record, or {@code null} if there are no more records.
+     * @throws IOException If the data could not be read.
+     */
+    public String[] next() throws IOException {
+        int ch = read();
+        while (ch == '\n' || ch == '\r') {
+            skipLineBreak(ch);
+            ch = read();
+        }
+        if (ch < 0) {
+            return null;
+        }
+
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (ch == '"' && field.length() == 0 && !quoted) {
+                // Quoted field -- read up to the closing quote.
+                quoted = true;
+                while (true) {
+                    ch = read();
+                    if (ch < 0) {
+                        throw new IOException("Unterminated quoted field (line: " + recordLineNumber + ").");
+                    }
+                    if (ch == '"') {
+                        ch = read();
+                        if (ch != '"') {
+                            break;
+                        }
+                    } else if (ch == '\n' || (ch == '\r' && peek() != '\n')) {
+                        lineNumber++;
+                    }
+                    field.append((char) ch);
+                }
+                continue;
+            }
+
+            if (ch < 0 || ch == delimiter || ch == '\n' || ch == '\r') {
+                fields.add(field.length() == 0 && !quoted ? null : field.toString());
+                if (ch != delimiter) {
+                    if (ch >= 0) {
+                        skipLineBreak(ch);
+                    }
+                    return fields.toArray(new String[0]);
+                }
+
+                field.setLength(0);
+                quoted = false;
+            } else {
+                field.append((char) ch);
+            }
+            ch = read();
+        }
+    }
+
+    /**
+     * @return Line number the last record returned by {@link #next()} starts at.
+     */
+    public int getLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Consume a line break whose first character was already read.
+     *
+     * @param ch First character of the line break.
+     */
+    private void skipLineBreak(int ch) throws IOException {
+        lineNumber++;
+        if (ch == '\r' && peek() == '\n') {
+            position++;
+        }
+    }
+
+    /**
+     * @return Next character, or {@code -1} at end of input.
+     */
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chars[position++];
+    }
+
+    /**
+     * @return Next character without consuming it, or {@code -1} at end of input.
+     */
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chars[position];
+    }
+
+    /**
+     * Read more characters into the buffer.
+     *
+     * @return {@code false} at end of input.
+     */
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = reader.read(chars, 0, chars.length);
+        } while (count == 0);
+
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.nocwriter.runsql.data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Bulk loads data over PostgreSQL's {@code COPY ... FROM STDIN} protocol, via the driver's {@code CopyManager}.<p>
+ * <p>
+ * The PostgreSQL driver is loaded by a dedicated class loader (see
+ * {@link com.nocwriter.runsql.gradle.DriverClassLoaderBuilder}), so its API is accessed reflectively, through the class
+ * loader of the connection itself.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class PostgresCopyFastPath implements BulkLoadFastPath {
+
+    /**
+     * PostgreSQL driver's connection interface, exposing the {@code COPY} API.
+     */
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    @Override
+    public boolean supports(Connection connection) {
+        Class<?> pgConnectionClass = pgConnectionClass(connection);
+        try {
+            return pgConnectionClass != null && connection.isWrapperFor(pgConnectionClass);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public String describe(String table, List<String> columns, DataFormat format, boolean header) {
+        StringBuilder sql = new StringBuilder("COPY ")
+                .append(table)
+                .append(" (")
+                .append(String.join(", ", columns))
+                .append(") FROM STDIN WITH (FORMAT csv");
+        if (format.delimiter != ',') {
+            sql.append(", DELIMITER E'\\t'");
+        }
+        if (header) {
+            sql.append(", HEADER true");
+        }
+        return sql.append(")").toString();
+    }
+
+    @Override
+    public long load(Connection connection, Reader data, String table, List<String> columns, DataFormat format,
+                     boolean header) throws SQLException, IOException {
+        Class<?> pgConnectionClass = pgConnectionClass(connection);
+        if (pgConnectionClass == null) {
+            throw new SQLException("Not a PostgreSQL connection.");
+        }
+
+        try {
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+            return (Long) copyIn.invoke(copyManager, describe(table, columns, format, header), data);
+        } catch (InvocationTargetException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new SQLException("COPY into " + table + " failed.", cause);
+        } catch (ReflectiveOperationException ex) {
+            throw new SQLException("PostgreSQL COPY API is not available.", ex);
+        }
+    }
+
+    /**
+     * @return PostgreSQL connection interface, as seen by the connection's class loader, or {@code null} if the
+     * connection was not created by the PostgreSQL driver.
+     */
+    private static Class<?> pgConnectionClass(Connection connection) {
+        try {
+            return Class.forName(PG_CONNECTION_CLASS, false, connection.getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.RunSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+
+/**
+ * Local state file recording the checksum of every script successfully applied by a task, so unchanged scripts can be
+ * skipped on subsequent runs (see {@link RunSQLProperties#incremental}).<p>
+ * <p>
+ * The state is bound to a target database (JDBC URL and username); if the target changes, all previously recorded
+ * checksums are discarded.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class AppliedScriptsState {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AppliedScriptsState.class);
+
+    /**
+     * Property holding the target database the state refers to.
+     */
+    private static final String TARGET_KEY = "target";
+
+    /**
+     * Prefix of properties holding script checksums.
+     */
+    private static final String SCRIPT_KEY_PREFIX = "script.";
+
+    /**
+     * State file.
+     */
+    private final File stateFile;
+
+    /**
+     * Recorded state.
+     */
+    private final Properties state;
+
+    /**
+     * Class constructor.
+     *
+     * @param stateFile State file.
+     * @param state     Recorded state.
+     */
+    private AppliedScriptsState(File stateFile, Properties state) {
+        this.stateFile = stateFile;
+        this.state = state;
+    }
+
+    /**
+     * Load state from file. If the file does not exist, cannot be read or refers to another target database, an empty
+     * state is returned.
+     *
+     * @param stateFile State file.
+     * @param target    Identity of the target database (e.g.: JDBC URL and username).
+     * @return Applied scripts state.
+     */
+    public static AppliedScriptsState load(File stateFile, String target) {
+        Properties state = new Properties();
+        if (stateFile.exists()) {
+            try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+                state.load(in);
+            } catch (IOException | IllegalArgumentException ex) {
+                // A malformed file (e.g.: an invalid unicode escape) is rejected with an IllegalArgumentException.
+                logger.warn("Could not read state file {}, all scripts will be executed.", stateFile, ex);
+                state.clear();
+            }
+        }
+
+        if (!target.equals(state.getProperty(TARGET_KEY))) {
+            state.clear();
+            state.setProperty(TARGET_KEY, target);
+        }
+
+        return new AppliedScriptsState(stateFile, state);
+    }
+
+    /**
+     * Check if a script with the given checksum was already applied.
+     *
+     * @param scriptKey Stable identity of the script (e.g.: path relative to project directory).
+     * @param checksum  Current checksum of the script.
+     * @return {@code true} if the script was applied with the same checksum, {@code false} otherwise.
+     */
+    public synchronized boolean isApplied(String scriptKey, String checksum) {
+        return checksum.equals(state.getProperty(SCRIPT_KEY_PREFIX + scriptKey));
+    }
+
+    /**
+     * Record that a script was applied and persist the state immediately, so progress is kept even if a later script
+     * fails.
+     *
+     * @param scriptKey Stable identity of the script.
+     * @param checksum  Checksum of the applied script.
+     */
+    public synchronized void markApplied(String scriptKey, String checksum) {
+        state.setProperty(SCRIPT_KEY_PREFIX + scriptKey, checksum);
+
+        try {
+            Files.createDirectories(stateFile.getParentFile().toPath());
+            try (OutputStream out = Files.newOutputStream(stateFile.toPath())) {
+                state.store(out, "RunSQL applied scripts -- do not edit.");
+            }
+        } catch (IOException ex) {
+            throw new RunSQLException("Failed to write state file " + stateFile.getAbsolutePath(), ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.jdbc.ConnectionPool;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Build-scoped JDBC connection pools, shared by all RunSQL tasks of a build. A pool is created per JDBC URL and
+ * credentials (username and password) by the first task that requests it (using that task's pool settings) and is
+ * reused by subsequent tasks, saving connection handshakes. All pooled connections are closed when the build finishes.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public abstract class ConnectionPoolService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    /**
+     * Name the service is registered by.
+     */
+    public static final String SERVICE_NAME = "runSQLConnectionPools";
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolService.class);
+
+    /**
+     * Pools, keyed by URL, username and password.
+     */
+    private final Map<String, ConnectionPool> pools = new HashMap<>();
+
+    /**
+     * Get the pool for the database described by given properties, creating it if required.
+     *
+     * @param props Properties holding connection details and pool settings.
+     * @return Connection pool.
+     */
+    public synchronized ConnectionPool getPool(RunSQLProperties props) {
+        // The password is part of the key, so tasks connecting with different credentials do not share connections.
+        String key = props.url + '\u0000' + props.username + '\u0000' + props.password;
+        return pools.computeIfAbsent(key, k -> {
+            logger.info("Creating JDBC connection pool for {} (max size: {}).", props.url, props.connectionPoolSize);
+            return new ConnectionPool(props.url,
+                    props.username,
+                    props.password,
+                    props.connectionPoolSize,
+                    props.poolValidationQuery,
+                    props.poolIdleTimeout * 1000L,
+                    props.poolAcquireTimeout * 1000L);
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        pools.values().forEach(ConnectionPool::close);
+        pools.clear();
+    }
+}
@@ -1,14 +1,13 @@
 package com.nocwriter.runsql.gradle;
 
 import com.nocwriter.runsql.RunSQLException;
-import org.gradle.api.Project;
-import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.ResolvedArtifact;
-import org.gradle.api.artifacts.ResolvedConfiguration;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Creates a new class loader from Project's runtime artifacts.
@@ -19,39 +18,33 @@ import java.net.URLClassLoader;
 public class DriverClassLoaderBuilder {
 
     /**
-     * Since Gradle itself may not load the build script classpath dependencies itself, we need to create a new
-     * class loader to do it.<p>
-     * This method collects all 'classpath' configuration dependencies and creates a class loader for them.
+     * Creates a class loader for loading JDBC drivers from a given set of files (e.g.: a resolved configuration).
      *
-     * @param project Project to use for resolving class loader.
+     * @param classpath Classpath files (typically .jar files).
      * @return JDBC drivers class loader.
      */
-    public static ClassLoader createDriversClassLoader(Project project) {
-        Configuration classpathConfiguration = project.getConfigurations().getByName("runtimeClasspath");
-        ResolvedConfiguration resolvedConfiguration = classpathConfiguration.getResolvedConfiguration();
-
-        URL[] artifactsURLs = resolvedConfiguration
-                .getResolvedArtifacts()
-                .stream()
-                .map(DriverClassLoaderBuilder::toURL)
-                .toArray(URL[]::new);
+    public static ClassLoader createDriversClassLoader(Iterable<File> classpath) {
+        List<URL> urls = new ArrayList<>();
+        for (File file : classpath) {
+            urls.add(toURL(file));
+        }
 
         return new URLClassLoader(
-                artifactsURLs,
+                urls.toArray(new URL[0]),
                 DriverClassLoaderBuilder.class.getClassLoader());
     }
 
     /**
-     * Resolve artifact to URL.
+     * Resolve file to URL.
      *
-     * @param artifact Artifact to resolve.
-     * @return URL to artifact's file.
+     * @param file File to resolve.
+     * @return URL to file.
      */
-    protected static URL toURL(ResolvedArtifact artifact) {
+    protected static URL toURL(File file) {
         try {
-            return artifact.getFile().toURI().toURL();
+            return file.toURI().toURL();
         } catch (MalformedURLException ex) {
-            throw new RunSQLException("Unexpected error: Could not resolve artifact to URL: " + artifact.toString());
+            throw new RunSQLException("Unexpected error: Could not resolve file to URL: " + file);
         }
     }
 }
@@ -0,0 +1,158 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.RunSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+
+/**
+ * Local state file recording the progress of scripts that did not complete yet. The last committed line of a script
+ * (along with the number of committed statements and the script's checksum) is recorded after every intermediate
+ * commit of a script executed in chunks (see {@link RunSQLProperties#commitInterval}) and when a script fails; once a
+ * script completes, its entry is removed. A subsequent run may resume a script past its committed statements (see
+ * {@link RunSQLProperties#resume}), provided the script did not change since.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ExecutionCheckpoint {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionCheckpoint.class);
+
+    /**
+     * Suffix of properties holding the last committed line number of a script.
+     */
+    private static final String LINE_SUFFIX = ".line";
+
+    /**
+     * Suffix of properties holding the number of committed statements of a script.
+     */
+    private static final String STATEMENTS_SUFFIX = ".statements";
+
+    /**
+     * Suffix of properties holding the checksum of a script at the time of the checkpoint.
+     */
+    private static final String CHECKSUM_SUFFIX = ".checksum";
+
+    /**
+     * Checkpoint file.
+     */
+    private final File checkpointFile;
+
+    /**
+     * Recorded checkpoints.
+     */
+    private final Properties state;
+
+    /**
+     * Class constructor.
+     *
+     * @param checkpointFile Checkpoint file.
+     * @param state          Recorded checkpoints.
+     */
+    private ExecutionCheckpoint(File checkpointFile, Properties state) {
+        this.checkpointFile = checkpointFile;
+        this.state = state;
+    }
+
+    /**
+     * Load checkpoints from file. If the file does not exist, an empty checkpoint is returned.
+     *
+     * @param checkpointFile Checkpoint file.
+     * @return Execution checkpoint.
+     */
+    public static ExecutionCheckpoint load(File checkpointFile) {
+        Properties state = new Properties();
+        if (checkpointFile.exists()) {
+            try (InputStream in = Files.newInputStream(checkpointFile.toPath())) {
+                state.load(in);
+            } catch (IOException ex) {
+                logger.warn("Could not read checkpoint file {}, ignoring it.", checkpointFile, ex);
+                state.clear();
+            }
+        }
+
+        return new ExecutionCheckpoint(checkpointFile, state);
+    }
+
+    /**
+     * @param scriptKey Stable identity of the script (e.g.: path relative to project directory).
+     * @return Last committed line number of the script, or {@code 0} if no checkpoint is recorded.
+     */
+    public synchronized int getLineNumber(String scriptKey) {
+        return Integer.parseInt(state.getProperty(scriptKey + LINE_SUFFIX, "0"));
+    }
+
+    /**
+     * @param scriptKey Stable identity of the script.
+     * @return Number of committed statements of the script, or {@code 0} if no checkpoint is recorded.
+     */
+    public synchronized long getStatementCount(String scriptKey) {
+        return Long.parseLong(state.getProperty(scriptKey + STATEMENTS_SUFFIX, "0"));
+    }
+
+    /**
+     * @param scriptKey Stable identity of the script.
+     * @return Checksum of the script when its checkpoint was recorded, or {@code null} if no checkpoint is recorded.
+     */
+    public synchronized String getChecksum(String scriptKey) {
+        return state.getProperty(scriptKey + CHECKSUM_SUFFIX);
+    }
+
+    /**
+     * Record the progress of a script and persist it immediately.
+     *
+     * @param scriptKey      Stable identity of the script.
+     * @param checksum       Checksum of the script.
+     * @param lineNumber     Line number of the last committed statement.
+     * @param statementCount Number of statements committed so far.
+     */
+    public synchronized void record(String scriptKey, String checksum, int lineNumber, long statementCount) {
+        state.setProperty(scriptKey + CHECKSUM_SUFFIX, checksum);
+        state.setProperty(scriptKey + LINE_SUFFIX, Integer.toString(lineNumber));
+        state.setProperty(scriptKey + STATEMENTS_SUFFIX, Long.toString(statementCount));
+        store();
+    }
+
+    /**
+     * Remove the checkpoint of a completed script.
+     *
+     * @param scriptKey Stable identity of the script.
+     */
+    public synchronized void clear(String scriptKey) {
+        boolean removed = state.remove(scriptKey + CHECKSUM_SUFFIX) != null;
+        removed |= state.remove(scriptKey + LINE_SUFFIX) != null;
+        removed |= state.remove(scriptKey + STATEMENTS_SUFFIX) != null;
+        if (removed) {
+            store();
+        }
+    }
+
+    /**
+     * Write checkpoints to file, deleting the file when no checkpoint is left.
+     */
+    private void store() {
+        try {
+            if (state.isEmpty()) {
+                Files.deleteIfExists(checkpointFile.toPath());
+                return;
+            }
+
+            Files.createDirectories(checkpointFile.getParentFile().toPath());
+            try (OutputStream out = Files.newOutputStream(checkpointFile.toPath())) {
+                state.store(out, "RunSQL execution checkpoint -- do not edit.");
+            }
+        } catch (IOException ex) {
+            throw new RunSQLException("Failed to write checkpoint file " + checkpointFile.getAbsolutePath(), ex);
+        }
+    }
+}
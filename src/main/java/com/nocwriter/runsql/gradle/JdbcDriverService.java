@@ -0,0 +1,90 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.jdbc.JdbcUtils;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Driver;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Build-scoped cache of JDBC drivers. The first task requiring a driver creates its class loader and registers it with
+ * {@code DriverManager}; subsequent tasks using the same classpath and driver class name reuse them. When the build
+ * finishes, all registered drivers are removed from {@code DriverManager} and their class loaders are closed, so
+ * drivers do not pile up in a long-living Gradle daemon.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public abstract class JdbcDriverService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    /**
+     * Name the service is registered by.
+     */
+    public static final String SERVICE_NAME = "runSQLJdbcDrivers";
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(JdbcDriverService.class);
+
+    /**
+     * Registered drivers, keyed by classpath and driver class name.
+     */
+    private final Map<String, LoadedDriver> drivers = new HashMap<>();
+
+    /**
+     * Make sure a driver is loaded and registered with {@code DriverManager}.
+     *
+     * @param classpath       Classpath to load the driver from.
+     * @param driverClassName Driver class name.
+     */
+    public synchronized void registerDriver(Iterable<File> classpath, String driverClassName) {
+        StringBuilder key = new StringBuilder(driverClassName);
+        for (File file : classpath) {
+            key.append(File.pathSeparatorChar).append(file.getAbsolutePath());
+        }
+
+        drivers.computeIfAbsent(key.toString(), k -> {
+            logger.info("Loading JDBC driver {}.", driverClassName);
+            ClassLoader classLoader = DriverClassLoaderBuilder.createDriversClassLoader(classpath);
+            return new LoadedDriver(classLoader, JdbcUtils.registerDriver(classLoader, driverClassName));
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        for (LoadedDriver loadedDriver : drivers.values()) {
+            JdbcUtils.deregisterDriver(loadedDriver.driver);
+            if (loadedDriver.classLoader instanceof Closeable) {
+                try {
+                    ((Closeable) loadedDriver.classLoader).close();
+                } catch (IOException ex) {
+                    logger.warn("Failed to close JDBC driver class loader.", ex);
+                }
+            }
+        }
+        drivers.clear();
+    }
+
+    /**
+     * A registered driver and the class loader it was loaded by.
+     */
+    private static class LoadedDriver {
+
+        private final ClassLoader classLoader;
+
+        private final Driver driver;
+
+        LoadedDriver(ClassLoader classLoader, Driver driver) {
+            this.classLoader = classLoader;
+            this.driver = driver;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.nocwriter.runsql.gradle;
 
 import com.nocwriter.runsql.RunSQLException;
+import com.nocwriter.runsql.script.SQLDialect;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.regex.Pattern;
 
 /**
  * Some helper function to verify and manage plugin extension.
@@ -33,6 +39,13 @@ public class PropertiesValidator {
      */
     private static final String JDBC_DRIVER_CLASS_NAME_LOOKUP_FILE = "/jdbcDriverClassNames.properties";
 
+    /**
+     * Valid schema history table name: an unquoted identifier, optionally schema-qualified. The name is embedded in
+     * SQL statements, so nothing else is accepted.
+     */
+    private static final Pattern HISTORY_TABLE_NAME =
+            Pattern.compile("([A-Za-z_][A-Za-z0-9_$]*\\.)?[A-Za-z_][A-Za-z0-9_$]*");
+
     /**
      * Validate plugin's properties.
      *
@@ -71,12 +84,124 @@ public class PropertiesValidator {
             extension.driverClassName = detectedDriverClassName;
         }
 
+        // Detect the dialect by the same JDBC sub-protocol the driver class name is detected by.
+        if (StringUtils.isBlank(extension.dialect)) {
+            extension.dialect = SQLDialect.fromSubProtocol(urlParts[1]).getName();
+        } else {
+            SQLDialect dialect = SQLDialect.fromName(extension.dialect);
+            if (dialect == null) {
+                throw new InvalidOrMissingPropertyException("Invalid 'dialect' value: " + extension.dialect +
+                        " (allowed values: generic, postgresql, mysql, sqlserver, oracle).");
+            }
+            extension.dialect = dialect.getName();
+        }
+
         if (extension.scriptFile != null && extension.script != null) {
             throw new InvalidOrMissingPropertyException("You cannot specify both 'scriptFile' and 'script' properties.");
         }
 
-        if (extension.script == null && extension.scriptFile == null) {
-            throw new InvalidOrMissingPropertyException("You must specify either 'scriptFile' or 'script'.");
+        if (extension.script == null && extension.scriptFile == null && extension.dataFile == null) {
+            throw new InvalidOrMissingPropertyException(
+                    "You must specify either 'scriptFile', 'script' or 'dataFile'.");
+        }
+
+        if (extension.migrate) {
+            if (extension.scriptFile == null) {
+                throw new InvalidOrMissingPropertyException("Property 'migrate' requires 'scriptFile'.");
+            }
+            if (extension.incremental) {
+                throw new InvalidOrMissingPropertyException(
+                        "You cannot specify both 'migrate' and 'incremental' properties.");
+            }
+            if (extension.migrationHistoryTable == null ||
+                    !HISTORY_TABLE_NAME.matcher(extension.migrationHistoryTable.trim()).matches()) {
+                throw new InvalidOrMissingPropertyException(
+                        "Invalid 'migrationHistoryTable' value: " + extension.migrationHistoryTable);
+            }
+            extension.migrationHistoryTable = extension.migrationHistoryTable.trim();
+        }
+
+        if (StringUtils.isBlank(extension.encoding)) {
+            extension.encoding = StandardCharsets.UTF_8.name();
+        } else {
+            extension.encoding = extension.encoding.trim();
+            if (!isSupportedCharset(extension.encoding)) {
+                throw new InvalidOrMissingPropertyException("Unsupported 'encoding' value: " + extension.encoding);
+            }
+        }
+
+        if (extension.dataFormat != null) {
+            extension.dataFormat = extension.dataFormat.trim().toLowerCase(Locale.ROOT);
+            if (!"csv".equals(extension.dataFormat) && !"tsv".equals(extension.dataFormat)) {
+                throw new InvalidOrMissingPropertyException(
+                        "Invalid 'dataFormat' value: " + extension.dataFormat + " (allowed values: csv, tsv).");
+            }
+        }
+
+        if (extension.batchSize < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'batchSize' cannot be negative.");
+        }
+
+        if (extension.parallelism < 1) {
+            throw new InvalidOrMissingPropertyException("Property 'parallelism' must be 1 or above.");
+        }
+
+        if (extension.parseParallelism < 1) {
+            throw new InvalidOrMissingPropertyException("Property 'parseParallelism' must be 1 or above.");
+        }
+
+        if (extension.parseAhead < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'parseAhead' cannot be negative.");
+        }
+
+        if (extension.coalesceInserts < 0 || extension.coalesceInsertsBytes < 0) {
+            throw new InvalidOrMissingPropertyException("Properties 'coalesceInserts' and 'coalesceInsertsBytes' " +
+                    "cannot be negative.");
+        }
+
+        if (extension.commitInterval < 0 || extension.commitIntervalBytes < 0 || extension.commitIntervalSeconds < 0) {
+            throw new InvalidOrMissingPropertyException("Properties 'commitInterval', 'commitIntervalBytes' and " +
+                    "'commitIntervalSeconds' cannot be negative.");
+        }
+
+        if (extension.retryAttempts < 0 || extension.retryBackoffMillis < 0 || extension.retryMaxBackoffMillis < 0) {
+            throw new InvalidOrMissingPropertyException("Properties 'retryAttempts', 'retryBackoffMillis' and " +
+                    "'retryMaxBackoffMillis' cannot be negative.");
+        }
+
+        if (extension.connectionPoolSize < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'connectionPoolSize' cannot be negative.");
+        }
+
+        if (extension.poolIdleTimeout < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'poolIdleTimeout' cannot be negative.");
+        }
+
+        if (extension.poolAcquireTimeout < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'poolAcquireTimeout' cannot be negative.");
+        }
+
+        if (extension.slowestStatements < 0) {
+            throw new InvalidOrMissingPropertyException("Property 'slowestStatements' cannot be negative.");
+        }
+
+        if (extension.reportFormat != null) {
+            extension.reportFormat = extension.reportFormat.trim().toLowerCase(Locale.ROOT);
+            if (!"json".equals(extension.reportFormat) && !"csv".equals(extension.reportFormat)) {
+                throw new InvalidOrMissingPropertyException(
+                        "Invalid 'reportFormat' value: " + extension.reportFormat + " (allowed values: json, csv).");
+            }
+        }
+    }
+
+    /**
+     * Check if a charset name is both legal and supported by the JVM.
+     */
+    private static boolean isSupportedCharset(String charsetName) {
+        try {
+            return Charset.isSupported(charsetName);
+        } catch (IllegalCharsetNameException ex) {
+            return false;
         }
     }
 
@@ -2,6 +2,7 @@ package com.nocwriter.runsql.gradle;
 
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,5 +21,21 @@ public class RunSQLPlugin implements Plugin<Project> {
         logger.info("Plugin {} created successfully for project {}", getClass().getSimpleName(), project.getName());
 
         project.getTasks().register("RunSQLHelp", RunSQLHelpTask.class);
+
+        // Share JDBC drivers between all RunSQL tasks of the build.
+        Provider<JdbcDriverService> driverService = project.getGradle().getSharedServices()
+                .registerIfAbsent(JdbcDriverService.SERVICE_NAME, JdbcDriverService.class, spec -> {
+                });
+        // Share pooled JDBC connections between all RunSQL tasks of the build (used only if enabled by a task).
+        Provider<ConnectionPoolService> connectionPoolService = project.getGradle().getSharedServices()
+                .registerIfAbsent(ConnectionPoolService.SERVICE_NAME, ConnectionPoolService.class, spec -> {
+                });
+
+        project.getTasks().withType(RunSQLTask.class).configureEach(task -> {
+            task.getDriverService().set(driverService);
+            task.usesService(driverService);
+            task.getConnectionPoolService().set(connectionPoolService);
+            task.usesService(connectionPoolService);
+        });
     }
 }
@@ -1,10 +1,18 @@
 package com.nocwriter.runsql.gradle;
 
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+
 import java.util.Arrays;
 import java.util.StringJoiner;
 
 /**
- * Plugin extension to hold properties.
+ * Plugin extension to hold properties.<p>
+ * <p>
+ * Properties affecting the outcome of a task are annotated as Gradle task inputs, so a task whose properties (and
+ * scripts) did not change is reported UP-TO-DATE. Properties that only affect performance, as well as credentials,
+ * are marked {@link Internal}. Scripts are declared as inputs by {@link RunSQLTask} itself.
  *
  * @author Guy Raz Nir
  * @since 2020/03/14
@@ -42,12 +50,205 @@ public class RunSQLProperties {
      */
     protected String[] scriptFile;
 
+    /**
+     * Charset of script and data files (e.g.: 'UTF-8' or 'ISO-8859-1'). Defaults to 'UTF-8'.
+     */
+    protected String encoding = "UTF-8";
+
+    /**
+     * SQL dialect to split scripts into statements by: 'generic', 'postgresql', 'mysql', 'sqlserver' or 'oracle' (see
+     * {@link com.nocwriter.runsql.script.SQLDialect}). If not set, the dialect is detected from the JDBC URL.
+     */
+    protected String dialect;
+
+    /**
+     * Delimited data files (CSV or TSV) to bulk load after scripts are executed. Relative to project root. Each file
+     * must start with a header record naming the target columns.
+     */
+    protected String[] dataFile;
+
+    /**
+     * Table to load data files into. If not set, each data file is loaded into a table named after the file (e.g.:
+     * 'users' for 'users.csv').
+     */
+    protected String dataTable;
+
+    /**
+     * Format of data files: 'csv' or 'tsv'. If not set, the format is detected by file extension ('.tsv' and '.tab'
+     * files are tab-separated, all others are comma-separated).
+     */
+    protected String dataFormat;
+
+    /**
+     * Number of consecutive DML statements (INSERT, UPDATE, DELETE, MERGE) to send to the database in a single JDBC
+     * batch. {@code 0} (the default) executes each statement individually.
+     */
+    protected int batchSize;
+
+    /**
+     * If {@code true}, INSERT statements differing only in their literal values are executed via a shared prepared
+     * statement with the literals bound as parameters, so the database parses each statement shape once.
+     */
+    protected boolean prepareStatements;
+
+    /**
+     * Maximum number of consecutive single-row INSERT statements into the same table to execute as a single multi-row
+     * INSERT statement. {@code 0} (the default) disables coalescing.
+     */
+    protected int coalesceInserts;
+
+    /**
+     * Maximum size (in characters) of a coalesced multi-row INSERT statement. {@code 0} sets no limit.
+     */
+    protected long coalesceInsertsBytes = 1024 * 1024;
+
+    /**
+     * Maximum number of script files to execute concurrently, each on its own JDBC connection. {@code 1} (the default)
+     * executes scripts one after the other on a single connection. Only use values greater than {@code 1} for
+     * scripts that are independent of each other.
+     */
+    protected int parallelism = 1;
+
+    /**
+     * Number of chunks of a large script file (16MB or more) to parse concurrently. {@code 1} (the default) parses
+     * scripts sequentially. Statements are executed in script order either way.
+     */
+    protected int parseParallelism = 1;
+
+    /**
+     * Number of statements of a script file to read and parse ahead of execution, on a background thread, overlapping
+     * file I/O and parsing with database round trips. {@code 0} (the default) parses each statement just before it is
+     * executed.
+     */
+    protected int parseAhead;
+
+    /**
+     * Format of an optional execution report file, written to 'build/reports/runsql/&lt;task name&gt;.&lt;format&gt;'.
+     * Either 'json' or 'csv'. If not set, no report file is written (a summary is still logged).
+     */
+    protected String reportFormat;
+
+    /**
+     * Number of slowest statements to include in the execution summary and report. Execution metrics are collected
+     * only if this is set, or if {@link #reportFormat} is set (in which case 10 slowest statements are reported by
+     * default).
+     */
+    protected int slowestStatements;
+
+    /**
+     * If {@code true}, the checksum of every successfully applied script is recorded in a local state file (under the
+     * build directory) and scripts that were already applied with the same contents are skipped on subsequent runs.
+     */
+    protected boolean incremental;
+
+    /**
+     * If {@code true}, script files are treated as versioned migrations ('V&lt;version&gt;__&lt;description&gt;.sql'):
+     * applied migrations are recorded in a schema history table in the target database, and only migrations not
+     * recorded there are applied, in version order.
+     */
+    protected boolean migrate;
+
+    /**
+     * Name of the schema history table used in migration mode (see {@link #migrate}).
+     */
+    protected String migrationHistoryTable = "runsql_schema_history";
+
+    /**
+     * If {@code true}, statements parsed out of script files are cached under the Gradle user home directory, keyed by
+     * script contents, so unchanged scripts are not parsed again on subsequent runs.
+     */
+    protected boolean parseCache;
+
+    /**
+     * Commit after every given number of statements. Setting any of the commit intervals ({@code commitInterval},
+     * {@link #commitIntervalBytes}, {@link #commitIntervalSeconds}) executes each script in a series of transactions
+     * (chunks) instead of committing each statement on its own, and records the last committed line of the script in a
+     * checkpoint file under the build directory (see {@link #resume}). {@code 0} (the default) disables statement-based
+     * chunking.
+     */
+    protected int commitInterval;
+
+    /**
+     * Commit once the SQL text executed since the last commit reaches the given size (in characters). {@code 0} (the
+     * default) disables size-based chunking.
+     */
+    protected long commitIntervalBytes;
+
+    /**
+     * Commit once the given number of seconds has passed since the last commit. {@code 0} (the default) disables
+     * time-based chunking.
+     */
+    protected int commitIntervalSeconds;
+
+    /**
+     * Maximum number of retries of a statement that failed on a transient error (e.g.: a deadlock victim or a
+     * serialization failure). In auto-commit mode, the failed statement is retried on its own; when executed in chunks
+     * (see {@link #commitInterval}), the chunk is rolled back and replayed. {@code 0} (the default) disables retries.
+     */
+    protected int retryAttempts;
+
+    /**
+     * Backoff before the first retry, in milliseconds. Doubled on each subsequent retry of the same statement (or
+     * chunk), up to {@link #retryMaxBackoffMillis}.
+     */
+    protected long retryBackoffMillis = 100;
+
+    /**
+     * Upper bound of the backoff between retries, in milliseconds.
+     */
+    protected long retryMaxBackoffMillis = 10_000;
+
+    /**
+     * SQLStates (or SQLState prefixes) of transient errors to retry. Defaults to '40001' (serialization failure or
+     * deadlock) and '40P01' (PostgreSQL deadlock).
+     */
+    protected String[] retrySqlStates;
+
+    /**
+     * Class names of transient exceptions to retry (e.g.: a driver-specific deadlock exception). Defaults to
+     * 'java.sql.SQLTransientException'.
+     */
+    protected String[] retryExceptions;
+
+    /**
+     * If {@code true}, scripts that failed on a previous execution are resumed past their last committed statement,
+     * as recorded in the checkpoint file under the build directory. A script that changed since is executed from the
+     * beginning.
+     */
+    protected boolean resume;
+
+    /**
+     * Maximum size of a connection pool shared by all RunSQL tasks of the build that connect to the same URL with the
+     * same username. {@code 0} (the default) disables pooling -- each task opens its own connection. Pool settings
+     * are taken from the first task that creates the pool.
+     */
+    protected int connectionPoolSize;
+
+    /**
+     * Query used to validate pooled connections before reuse (e.g.: 'SELECT 1'). If not set, the JDBC driver's
+     * built-in validation ({@code Connection.isValid()}) is used.
+     */
+    protected String poolValidationQuery;
+
+    /**
+     * Time, in seconds, after which an idle pooled connection is closed.
+     */
+    protected int poolIdleTimeout = 300;
+
+    /**
+     * Time, in seconds, to wait for a pooled connection when all connections are in use (e.g.: by other tasks running
+     * in parallel), before failing. {@code 0} waits indefinitely.
+     */
+    protected int poolAcquireTimeout = 600;
+
     /**
      * Class constructor.
      */
     public RunSQLProperties() {
     }
 
+    @Input
+    @Optional
     public String getUrl() {
         return url;
     }
@@ -56,6 +257,8 @@ public class RunSQLProperties {
         this.url = url;
     }
 
+    @Input
+    @Optional
     public String getUsername() {
         return username;
     }
@@ -64,6 +267,7 @@ public class RunSQLProperties {
         this.username = username;
     }
 
+    @Internal
     public String getPassword() {
         return password;
     }
@@ -72,6 +276,8 @@ public class RunSQLProperties {
         this.password = password;
     }
 
+    @Input
+    @Optional
     public String getDriverClassName() {
         return driverClassName;
     }
@@ -80,6 +286,7 @@ public class RunSQLProperties {
         this.driverClassName = driverClassName;
     }
 
+    @Internal
     public Object getScript() {
         return script;
     }
@@ -88,6 +295,7 @@ public class RunSQLProperties {
         this.script = toStringArray("script", script);
     }
 
+    @Internal
     public Object getScriptFile() {
         return scriptFile;
     }
@@ -96,6 +304,297 @@ public class RunSQLProperties {
         this.scriptFile = toStringArray("scriptFile", scriptFile);
     }
 
+    @Internal
+    public Object getDataFile() {
+        return dataFile;
+    }
+
+    public void setDataFile(Object dataFile) {
+        this.dataFile = toStringArray("dataFile", dataFile);
+    }
+
+    @Input
+    @Optional
+    public String getDataTable() {
+        return dataTable;
+    }
+
+    public void setDataTable(String dataTable) {
+        this.dataTable = dataTable;
+    }
+
+    @Input
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Input
+    @Optional
+    public String getDialect() {
+        return dialect;
+    }
+
+    public void setDialect(String dialect) {
+        this.dialect = dialect;
+    }
+
+    @Input
+    @Optional
+    public String getDataFormat() {
+        return dataFormat;
+    }
+
+    public void setDataFormat(String dataFormat) {
+        this.dataFormat = dataFormat;
+    }
+
+    @Internal
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Internal
+    public boolean isPrepareStatements() {
+        return prepareStatements;
+    }
+
+    public void setPrepareStatements(boolean prepareStatements) {
+        this.prepareStatements = prepareStatements;
+    }
+
+    @Internal
+    public int getCoalesceInserts() {
+        return coalesceInserts;
+    }
+
+    public void setCoalesceInserts(int coalesceInserts) {
+        this.coalesceInserts = coalesceInserts;
+    }
+
+    @Internal
+    public long getCoalesceInsertsBytes() {
+        return coalesceInsertsBytes;
+    }
+
+    public void setCoalesceInsertsBytes(long coalesceInsertsBytes) {
+        this.coalesceInsertsBytes = coalesceInsertsBytes;
+    }
+
+    @Internal
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Internal
+    public int getParseParallelism() {
+        return parseParallelism;
+    }
+
+    public void setParseParallelism(int parseParallelism) {
+        this.parseParallelism = parseParallelism;
+    }
+
+    @Internal
+    public int getParseAhead() {
+        return parseAhead;
+    }
+
+    public void setParseAhead(int parseAhead) {
+        this.parseAhead = parseAhead;
+    }
+
+    @Input
+    @Optional
+    public String getReportFormat() {
+        return reportFormat;
+    }
+
+    public void setReportFormat(String reportFormat) {
+        this.reportFormat = reportFormat;
+    }
+
+    @Input
+    public int getSlowestStatements() {
+        return slowestStatements;
+    }
+
+    public void setSlowestStatements(int slowestStatements) {
+        this.slowestStatements = slowestStatements;
+    }
+
+    @Input
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    @Input
+    public boolean isMigrate() {
+        return migrate;
+    }
+
+    public void setMigrate(boolean migrate) {
+        this.migrate = migrate;
+    }
+
+    @Input
+    public String getMigrationHistoryTable() {
+        return migrationHistoryTable;
+    }
+
+    public void setMigrationHistoryTable(String migrationHistoryTable) {
+        this.migrationHistoryTable = migrationHistoryTable;
+    }
+
+    @Internal
+    public boolean isParseCache() {
+        return parseCache;
+    }
+
+    public void setParseCache(boolean parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    @Internal
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    @Internal
+    public long getCommitIntervalBytes() {
+        return commitIntervalBytes;
+    }
+
+    public void setCommitIntervalBytes(long commitIntervalBytes) {
+        this.commitIntervalBytes = commitIntervalBytes;
+    }
+
+    @Internal
+    public int getCommitIntervalSeconds() {
+        return commitIntervalSeconds;
+    }
+
+    public void setCommitIntervalSeconds(int commitIntervalSeconds) {
+        this.commitIntervalSeconds = commitIntervalSeconds;
+    }
+
+    @Internal
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public void setRetryAttempts(int retryAttempts) {
+        this.retryAttempts = retryAttempts;
+    }
+
+    @Internal
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Internal
+    public long getRetryMaxBackoffMillis() {
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) {
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    @Internal
+    public Object getRetrySqlStates() {
+        return retrySqlStates;
+    }
+
+    public void setRetrySqlStates(Object retrySqlStates) {
+        this.retrySqlStates = toStringArray("retrySqlStates", retrySqlStates);
+    }
+
+    @Internal
+    public Object getRetryExceptions() {
+        return retryExceptions;
+    }
+
+    public void setRetryExceptions(Object retryExceptions) {
+        this.retryExceptions = toStringArray("retryExceptions", retryExceptions);
+    }
+
+    /**
+     * @return {@code true} if any of the commit intervals is set, i.e.: scripts are executed in chunks.
+     */
+    @Internal
+    public boolean isChunked() {
+        return commitInterval > 0 || commitIntervalBytes > 0 || commitIntervalSeconds > 0;
+    }
+
+    @Internal
+    public boolean isResume() {
+        return resume;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    @Internal
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    @Internal
+    public String getPoolValidationQuery() {
+        return poolValidationQuery;
+    }
+
+    public void setPoolValidationQuery(String poolValidationQuery) {
+        this.poolValidationQuery = poolValidationQuery;
+    }
+
+    @Internal
+    public int getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(int poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    @Internal
+    public int getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    public void setPoolAcquireTimeout(int poolAcquireTimeout) {
+        this.poolAcquireTimeout = poolAcquireTimeout;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", RunSQLProperties.class.getSimpleName() + "[", "]")
@@ -104,6 +603,37 @@ public class RunSQLProperties {
                 .add("password='" + password + "'")
                 .add("driverClassName='" + driverClassName + "'")
                 .add("scriptFile='" + Arrays.toString(scriptFile) + "'")
+                .add("dataFile='" + Arrays.toString(dataFile) + "'")
+                .add("dataTable='" + dataTable + "'")
+                .add("dataFormat='" + dataFormat + "'")
+                .add("encoding='" + encoding + "'")
+                .add("dialect='" + dialect + "'")
+                .add("batchSize=" + batchSize)
+                .add("prepareStatements=" + prepareStatements)
+                .add("coalesceInserts=" + coalesceInserts)
+                .add("coalesceInsertsBytes=" + coalesceInsertsBytes)
+                .add("parallelism=" + parallelism)
+                .add("parseParallelism=" + parseParallelism)
+                .add("parseAhead=" + parseAhead)
+                .add("reportFormat='" + reportFormat + "'")
+                .add("slowestStatements=" + slowestStatements)
+                .add("incremental=" + incremental)
+                .add("migrate=" + migrate)
+                .add("migrationHistoryTable='" + migrationHistoryTable + "'")
+                .add("parseCache=" + parseCache)
+                .add("commitInterval=" + commitInterval)
+                .add("commitIntervalBytes=" + commitIntervalBytes)
+                .add("commitIntervalSeconds=" + commitIntervalSeconds)
+                .add("retryAttempts=" + retryAttempts)
+                .add("retryBackoffMillis=" + retryBackoffMillis)
+                .add("retryMaxBackoffMillis=" + retryMaxBackoffMillis)
+                .add("retrySqlStates='" + Arrays.toString(retrySqlStates) + "'")
+                .add("retryExceptions='" + Arrays.toString(retryExceptions) + "'")
+                .add("resume=" + resume)
+                .add("connectionPoolSize=" + connectionPoolSize)
+                .add("poolValidationQuery='" + poolValidationQuery + "'")
+                .add("poolIdleTimeout=" + poolIdleTimeout)
+                .add("poolAcquireTimeout=" + poolAcquireTimeout)
                 .toString();
     }
 
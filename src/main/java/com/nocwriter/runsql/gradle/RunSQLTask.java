@@ -1,15 +1,57 @@
 package com.nocwriter.runsql.gradle;
 
+import com.nocwriter.runsql.data.DataFormat;
+import com.nocwriter.runsql.data.DataLoader;
+import com.nocwriter.runsql.jdbc.ConnectionPool;
+import com.nocwriter.runsql.jdbc.ConnectionProvider;
 import com.nocwriter.runsql.jdbc.JdbcUtils;
+import com.nocwriter.runsql.migration.MigrationRunner;
+import com.nocwriter.runsql.script.ExecutionListener;
+import com.nocwriter.runsql.script.ExecutionMetrics;
+import com.nocwriter.runsql.script.ParallelScriptRunner;
+import com.nocwriter.runsql.script.ParseCache;
+import com.nocwriter.runsql.script.RetryPolicy;
+import com.nocwriter.runsql.script.SQLDialect;
+import com.nocwriter.runsql.script.SQLStatement;
 import com.nocwriter.runsql.script.ScriptParser;
 import com.nocwriter.runsql.script.ScriptRunner;
+import com.nocwriter.runsql.script.StatementSource;
 import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Gradle task to execute query.
@@ -19,8 +61,80 @@ import java.util.List;
  */
 public class RunSQLTask extends DefaultTask {
 
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(RunSQLTask.class);
+
+    /**
+     * Number of slowest statements to report, if a report is requested without setting 'slowestStatements'.
+     */
+    private static final int DEFAULT_SLOWEST_STATEMENTS = 10;
+
     private final RunSQLProperties props = new RunSQLProperties();
 
+    /**
+     * Script files, resolved relative to the project directory (directories and glob patterns are expanded, see
+     * {@link ScriptFileScanner}). Being a file collection, a file matched by more than one entry appears (and is
+     * executed) once.
+     */
+    private final ConfigurableFileCollection scriptFiles;
+
+    /**
+     * Data files to bulk load, resolved relative to the project directory.
+     */
+    private final ConfigurableFileCollection dataFiles;
+
+    /**
+     * Project's runtime classpath, used for loading JDBC drivers.
+     */
+    private final ConfigurableFileCollection driverClasspath;
+
+    /**
+     * Project directory, used for resolving stable script identities.
+     */
+    private final File projectDirectory;
+
+    /**
+     * Directory of the persistent parse cache, under the Gradle user home directory (shared by all builds).
+     */
+    private final File parseCacheDirectory;
+
+    /**
+     * Project build directory, holding state files, reports and the task's marker output.
+     */
+    private final DirectoryProperty buildDirectory;
+
+    /**
+     * Build-scoped JDBC drivers cache (set by {@link RunSQLPlugin}).
+     */
+    private final Property<JdbcDriverService> driverService;
+
+    /**
+     * Build-scoped JDBC connection pools (set by {@link RunSQLPlugin}).
+     */
+    private final Property<ConnectionPoolService> connectionPoolService;
+
+    /**
+     * Class constructor.
+     */
+    public RunSQLTask() {
+        // Everything the task action needs from the project is captured here, at configuration time, so the task
+        // does not access the project model during execution (required for configuration caching).
+        Project project = getProject();
+        projectDirectory = project.getProjectDir();
+        parseCacheDirectory = new File(project.getGradle().getGradleUserHomeDir(), "caches/runsql/parse");
+        buildDirectory = project.getObjects().directoryProperty();
+        buildDirectory.set(project.getLayout().getBuildDirectory());
+        driverService = project.getObjects().property(JdbcDriverService.class);
+        connectionPoolService = project.getObjects().property(ConnectionPoolService.class);
+        scriptFiles = project.files(
+                (Callable<Object>) () -> ScriptFileScanner.scan(projectDirectory, props.scriptFile));
+        dataFiles = project.files((Callable<Object>) () -> props.dataFile);
+        driverClasspath = project.files(project.getConfigurations()
+                .matching(configuration -> "runtimeClasspath".equals(configuration.getName())));
+    }
+
     /**
      * Triggers an action for configuring {@link RunSQLProperties}.
      *
@@ -30,23 +144,480 @@ public class RunSQLTask extends DefaultTask {
         configAction.execute(this.props);
     }
 
+    /**
+     * @return Task properties (URL, credentials, scripts, ...), declared as task inputs.
+     */
+    @Nested
+    public RunSQLProperties getProperties() {
+        return props;
+    }
+
+    /**
+     * @return Direct script (if configured), declared as task input.
+     */
+    @Input
+    @Optional
+    public List<String> getScriptText() {
+        return props.script != null ? Arrays.asList(props.script) : null;
+    }
+
+    /**
+     * @return Contents of the configured script files, declared as task inputs.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getScriptFiles() {
+        return scriptFiles;
+    }
+
+    /**
+     * @return Data files to bulk load, declared as task inputs.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getDataFiles() {
+        return dataFiles;
+    }
+
+    /**
+     * @return Classpath JDBC drivers are loaded from.
+     */
+    @Classpath
+    public FileCollection getDriverClasspath() {
+        return driverClasspath;
+    }
+
+    /**
+     * @return Build-scoped JDBC drivers cache. If not set, a driver is loaded and registered on each execution.
+     */
+    @Internal
+    public Property<JdbcDriverService> getDriverService() {
+        return driverService;
+    }
+
+    /**
+     * @return Build-scoped JDBC connection pools. Used only if {@link RunSQLProperties#connectionPoolSize} is set.
+     */
+    @Internal
+    public Property<ConnectionPoolService> getConnectionPoolService() {
+        return connectionPoolService;
+    }
+
+    /**
+     * Marker file, written after all scripts were executed successfully. Declaring an output allows Gradle to report
+     * the task as UP-TO-DATE when none of its inputs changed since the last successful execution.
+     *
+     * @return Marker file.
+     */
+    @OutputFile
+    public File getMarkerFile() {
+        return new File(getStateDirectory(), "executed");
+    }
+
+    /**
+     * @return Execution report file, or {@code null} if no report was requested.
+     */
+    @Optional
+    @OutputFile
+    public File getReportFile() {
+        if (props.reportFormat == null) {
+            return null;
+        }
+
+        String format = props.reportFormat.trim().toLowerCase(Locale.ROOT);
+        return buildDirectory.file("reports/runsql/" + getName() + "." + format).get().getAsFile();
+    }
+
     @TaskAction
-    public void execute() throws SQLException {
+    public void execute() throws SQLException, IOException {
         // Locate and validate plugin's extension.
         PropertiesValidator.validateExtensionProperties(this.props);
 
-        // Build a new class loader that can load JDBC driver classes.
-        ClassLoader jdbcClassLoader = DriverClassLoaderBuilder.createDriversClassLoader(getProject());
-        JdbcUtils.registerDriver(jdbcClassLoader, this.props.driverClassName);
+        // Load and register the JDBC driver, reusing the one loaded by a previous task in this build, if any.
+        if (driverService.isPresent()) {
+            driverService.get().registerDriver(driverClasspath, this.props.driverClassName);
+        } else {
+            ClassLoader jdbcClassLoader = DriverClassLoaderBuilder.createDriversClassLoader(driverClasspath);
+            JdbcUtils.registerDriver(jdbcClassLoader, this.props.driverClassName);
+        }
+
+        ConnectionProvider connectionProvider = createConnectionProvider();
+        // Metrics cost a record per statement (and reading every result set), so they are collected only on request.
+        ExecutionMetrics metrics = null;
+        if (props.reportFormat != null || props.slowestStatements > 0) {
+            metrics = new ExecutionMetrics(props.slowestStatements > 0 ?
+                    props.slowestStatements :
+                    DEFAULT_SLOWEST_STATEMENTS);
+        }
+        try {
+            executeScripts(ScriptsReader.fetchScripts(scriptFiles, this.props), connectionProvider, metrics);
+            loadDataFiles(connectionProvider, metrics);
+        } finally {
+            // Report metrics even if execution failed -- they're most useful for finding what went wrong.
+            if (metrics != null) {
+                reportMetrics(metrics);
+            }
+        }
+
+        writeMarkerFile();
+    }
+
+    /**
+     * @return Source of JDBC connections: a build-scoped pool if pooling is enabled, a new connection per request
+     * otherwise.
+     */
+    private ConnectionProvider createConnectionProvider() {
+        if (props.connectionPoolSize > 0 && connectionPoolService.isPresent()) {
+            return connectionPoolService.get().getPool(props);
+        }
+
+        return () -> JdbcUtils.openJDBCConnection(props.username, props.password, props.url);
+    }
+
+    /**
+     * Execute scripts, either sequentially or in parallel (based on configuration).
+     *
+     * @param scriptObjects      Scripts to execute.
+     * @param connectionProvider Source of JDBC connections.
+     * @param metrics            Metrics collector to record statements into.
+     */
+    private void executeScripts(List<ScriptObject> scriptObjects,
+                                ConnectionProvider connectionProvider,
+                                ExecutionMetrics metrics) throws SQLException, IOException {
+        if (scriptObjects.isEmpty()) {
+            return;
+        }
+
+        if (props.parseCache) {
+            ParseCache parseCache = new ParseCache(parseCacheDirectory);
+            scriptObjects.forEach(scriptObject -> scriptObject.parseCache = parseCache);
+        }
 
-        List<ScriptObject> scriptObjects = ScriptsReader.fetchScripts(getProject(), this.props);
         ScriptParser parser = new ScriptParser();
-        scriptObjects.forEach(script -> script.statements = parser.parseScript(script.script));
+        parser.parallelism = props.parseParallelism;
+        parser.parseAhead = props.parseAhead;
+        parser.dialect = SQLDialect.fromName(props.dialect);
+
+        if (props.migrate) {
+            migrate(scriptObjects, parser, connectionProvider, metrics);
+            return;
+        }
+
+        // Order scripts so each one follows the scripts it depends on (sequential execution relies on that order).
+        scriptObjects = ScriptDependencies.resolve(scriptObjects);
+
+        Map<ScriptObject, String> checksums = Collections.synchronizedMap(new IdentityHashMap<>());
+        AppliedScriptsState appliedScripts = null;
+        if (props.incremental) {
+            appliedScripts = AppliedScriptsState.load(
+                    new File(getStateDirectory(), "applied-scripts.properties"),
+                    props.url + " (" + props.username + ")");
+            scriptObjects = selectChangedScripts(scriptObjects, appliedScripts, checksums);
+            if (scriptObjects.isEmpty()) {
+                logger.info("All scripts were already applied and did not change -- nothing to execute.");
+                return;
+            }
+        }
+
+        ExecutionCheckpoint checkpoint =
+                ExecutionCheckpoint.load(new File(getStateDirectory(), "checkpoint.properties"));
+        applyCheckpoint(scriptObjects, checkpoint, checksums);
+
+        ExecutionListener listener = createListener(appliedScripts, checksums, checkpoint);
+
+        // Running more workers than pooled connections would only keep the extra workers waiting for connections.
+        int parallelism = props.parallelism;
+        if (connectionProvider instanceof ConnectionPool &&
+                parallelism > ((ConnectionPool) connectionProvider).getMaxSize()) {
+            parallelism = ((ConnectionPool) connectionProvider).getMaxSize();
+            logger.info("Limiting parallelism to connection pool size ({}).", parallelism);
+        }
+
+        if (parallelism > 1 && scriptObjects.size() > 1) {
+            // Workers release their connection after each script. Unless connections are pooled already, a pool
+            // scoped to this execution lets subsequent scripts reuse them. Its connections are not shared with other
+            // tasks, so there is no need to time out waiting for one.
+            ConnectionPool taskPool = connectionProvider instanceof ConnectionPool ? null :
+                    new ConnectionPool(props.url, props.username, props.password, parallelism,
+                            props.poolValidationQuery, props.poolIdleTimeout * 1000L, 0);
+            try {
+                new ParallelScriptRunner(parallelism, taskPool != null ? taskPool : connectionProvider, parser,
+                        runner -> configureRunner(runner, metrics, listener))
+                        .execute(scriptObjects);
+            } finally {
+                if (taskPool != null) {
+                    taskPool.close();
+                }
+            }
+        } else {
+            executeSequentially(scriptObjects, parser, connectionProvider, metrics, listener);
+        }
+    }
+
+    /**
+     * Apply pending migrations (see {@link RunSQLProperties#migrate}), one after the other on a single connection.
+     *
+     * @param scriptObjects      Migration scripts.
+     * @param parser             Parser for extracting statements out of scripts.
+     * @param connectionProvider Source of JDBC connections.
+     * @param metrics            Metrics collector to record statements into.
+     */
+    private void migrate(List<ScriptObject> scriptObjects,
+                         ScriptParser parser,
+                         ConnectionProvider connectionProvider,
+                         ExecutionMetrics metrics) throws SQLException {
+        if (props.parallelism > 1) {
+            logger.info("Migrations are applied one after the other -- ignoring 'parallelism'.");
+        }
+
+        Connection connection = connectionProvider.getConnection();
+        try {
+            new MigrationRunner(connection, parser, runner -> configureRunner(runner, metrics, null),
+                    props.migrationHistoryTable)
+                    .migrate(scriptObjects);
+        } finally {
+            connectionProvider.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Load data files (if configured) into their target tables, one after the other on a single connection.
+     *
+     * @param connectionProvider Source of JDBC connections.
+     * @param metrics            Metrics collector to record loaded files into.
+     */
+    private void loadDataFiles(ConnectionProvider connectionProvider, ExecutionMetrics metrics) throws SQLException {
+        if (dataFiles.isEmpty()) {
+            return;
+        }
+
+        Connection connection = connectionProvider.getConnection();
+        try {
+            DataLoader loader = new DataLoader(connection);
+            if (props.batchSize > 1) {
+                loader.batchSize = props.batchSize;
+            }
+            loader.commitInterval = props.commitInterval;
+            loader.encoding = Charset.forName(props.encoding);
+            loader.metrics = metrics;
+
+            for (File dataFile : dataFiles) {
+                DataFormat format = props.dataFormat != null ?
+                        DataFormat.valueOf(props.dataFormat.toUpperCase(Locale.ROOT)) :
+                        DataFormat.fromFileName(dataFile);
+                loader.load(dataFile, dataTable(dataFile), format);
+            }
+        } finally {
+            connectionProvider.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Resolve the target table of a data file: the configured 'dataTable', or the file's base name (e.g.: 'users' for
+     * 'users.csv').
+     *
+     * @param dataFile Data file.
+     * @return Target table name.
+     */
+    private String dataTable(File dataFile) {
+        if (props.dataTable != null) {
+            return props.dataTable;
+        }
+
+        String name = dataFile.getName();
+        int extension = name.indexOf('.');
+        return extension > 0 ? name.substring(0, extension) : name;
+    }
 
-        try (Connection connection = JdbcUtils.openJDBCConnection(props.username, props.password, props.url)) {
-            // Execute script.
+    /**
+     * Execute scripts one after the other on a single connection.
+     */
+    private void executeSequentially(List<ScriptObject> scriptObjects,
+                                     ScriptParser parser,
+                                     ConnectionProvider connectionProvider,
+                                     ExecutionMetrics metrics,
+                                     ExecutionListener listener) throws SQLException, IOException {
+        Connection connection = connectionProvider.getConnection();
+        try {
+            // Execute scripts, parsing each statement just before it is executed.
             ScriptRunner executor = new ScriptRunner(connection);
-            scriptObjects.forEach(executor::executeSQL);
+            configureRunner(executor, metrics, listener);
+            for (ScriptObject scriptObject : scriptObjects) {
+                try (StatementSource statements = scriptObject.openStatements(parser)) {
+                    executor.executeSQL(scriptObject, statements);
+                }
+            }
+        } finally {
+            connectionProvider.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Apply execution-related properties on a script runner.
+     *
+     * @param runner   Runner to configure.
+     * @param metrics  Metrics collector to record statements into.
+     * @param listener Listener to notify on execution progress (may be {@code null}).
+     */
+    private void configureRunner(ScriptRunner runner, ExecutionMetrics metrics, ExecutionListener listener) {
+        runner.autoCommit = !props.isChunked();
+        runner.commitInterval = props.commitInterval;
+        runner.commitIntervalBytes = props.commitIntervalBytes;
+        runner.commitIntervalSeconds = props.commitIntervalSeconds;
+        runner.batchSize = props.batchSize;
+        runner.prepareStatements = props.prepareStatements;
+        runner.coalesceInserts = props.coalesceInserts;
+        runner.coalesceInsertsBytes = props.coalesceInsertsBytes;
+        runner.metrics = metrics;
+        runner.listener = listener;
+        if (props.retryAttempts > 0) {
+            RetryPolicy retryPolicy = new RetryPolicy(props.retryAttempts);
+            retryPolicy.initialBackoffMillis = props.retryBackoffMillis;
+            retryPolicy.maxBackoffMillis = props.retryMaxBackoffMillis;
+            if (props.retrySqlStates != null) {
+                retryPolicy.sqlStates = Arrays.asList(props.retrySqlStates);
+            }
+            if (props.retryExceptions != null) {
+                retryPolicy.exceptionTypes = Arrays.asList(props.retryExceptions);
+            }
+            runner.retryPolicy = retryPolicy;
+        }
+    }
+
+    /**
+     * Create a listener keeping local state files (applied scripts and execution checkpoint) up to date.
+     *
+     * @param appliedScripts State of previously applied scripts, or {@code null} if not in incremental mode.
+     * @param checksums      Checksums of scripts to record as applied.
+     * @param checkpoint     Execution checkpoint, recording the committed progress of each script (chunked or not).
+     * @return Execution listener.
+     */
+    private ExecutionListener createListener(AppliedScriptsState appliedScripts,
+                                             Map<ScriptObject, String> checksums,
+                                             ExecutionCheckpoint checkpoint) {
+        return new ExecutionListener() {
+            @Override
+            public void scriptCompleted(ScriptObject scriptObject) {
+                if (appliedScripts != null) {
+                    appliedScripts.markApplied(scriptKey(scriptObject), checksums.get(scriptObject));
+                }
+                checkpoint.clear(scriptKey(scriptObject));
+            }
+
+            @Override
+            public void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+                // Statements skipped on resume were committed by a previous run, so they count as well.
+                checkpoint.record(scriptKey(scriptObject),
+                        checksums.computeIfAbsent(scriptObject, ScriptObject::computeChecksum),
+                        lastStatement.getLineNumber(),
+                        scriptObject.skipStatements + statementCount);
+            }
+        };
+    }
+
+    /**
+     * Inspect checkpoints left by a previous failed execution. In resume mode, scripts whose contents did not change
+     * since are set to skip their committed statements; otherwise, the checkpoint is only reported.
+     *
+     * @param scriptObjects Scripts to execute.
+     * @param checkpoint    Execution checkpoint.
+     * @param checksums     Cache of script checksums.
+     */
+    private void applyCheckpoint(List<ScriptObject> scriptObjects,
+                                 ExecutionCheckpoint checkpoint,
+                                 Map<ScriptObject, String> checksums) {
+        for (ScriptObject scriptObject : scriptObjects) {
+            String key = scriptKey(scriptObject);
+            int committedLine = checkpoint.getLineNumber(key);
+            if (committedLine == 0) {
+                continue;
+            }
+
+            if (!props.resume) {
+                logger.warn("A previous execution of {} committed statements up to line {} (set 'resume' to continue " +
+                        "from there).", key, committedLine);
+            } else if (!checkpoint.getChecksum(key).equals(
+                    checksums.computeIfAbsent(scriptObject, ScriptObject::computeChecksum))) {
+                logger.warn("Script {} changed since its last execution -- executing it from the beginning.", key);
+            } else {
+                scriptObject.skipStatements = checkpoint.getStatementCount(key);
+                logger.info("Resuming {} after line {} ({} statements already committed).",
+                        key, committedLine, scriptObject.skipStatements);
+            }
+        }
+    }
+
+    /**
+     * Filter out scripts that were already applied and whose contents did not change since.
+     *
+     * @param scriptObjects  Candidate scripts.
+     * @param appliedScripts State of previously applied scripts.
+     * @param checksums      Receives the computed checksum of every script that should be executed.
+     * @return Scripts to execute.
+     */
+    private List<ScriptObject> selectChangedScripts(List<ScriptObject> scriptObjects,
+                                                    AppliedScriptsState appliedScripts,
+                                                    Map<ScriptObject, String> checksums) {
+        List<ScriptObject> changed = new ArrayList<>(scriptObjects.size());
+        for (ScriptObject scriptObject : scriptObjects) {
+            String checksum = scriptObject.computeChecksum();
+            if (appliedScripts.isApplied(scriptKey(scriptObject), checksum)) {
+                logger.info("Skipping unchanged script: {}", scriptKey(scriptObject));
+            } else {
+                changed.add(scriptObject);
+                checksums.put(scriptObject, checksum);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Resolve a stable identity of a script: its path relative to the project directory, or a fixed name for direct
+     * scripts.
+     *
+     * @param scriptObject Script to identify.
+     * @return Script key.
+     */
+    private String scriptKey(ScriptObject scriptObject) {
+        if (scriptObject.scriptFile == null) {
+            return "<script>";
+        }
+
+        return projectDirectory.toPath().relativize(scriptObject.scriptFile.toPath()).toString();
+    }
+
+    /**
+     * @return Directory holding this task's local state files ('build/runsql/&lt;task name&gt;').
+     */
+    private File getStateDirectory() {
+        return buildDirectory.dir("runsql/" + getName()).get().getAsFile();
+    }
+
+    /**
+     * Write the marker output file, recording when the scripts were last executed successfully.
+     */
+    private void writeMarkerFile() throws IOException {
+        File markerFile = getMarkerFile();
+        Files.createDirectories(markerFile.getParentFile().toPath());
+        String contents = "Executed successfully at " + Instant.now() + System.lineSeparator();
+        Files.write(markerFile.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Log execution summary and write report file (if requested).
+     *
+     * @param metrics Collected metrics.
+     * @throws IOException If report file could not be written.
+     */
+    private void reportMetrics(ExecutionMetrics metrics) throws IOException {
+        logger.info(metrics.summary());
+
+        if (props.reportFormat != null) {
+            ExecutionMetrics.ReportFormat format =
+                    ExecutionMetrics.ReportFormat.valueOf(props.reportFormat.toUpperCase(Locale.ROOT));
+            File reportFile = getReportFile();
+            metrics.writeReport(reportFile, format);
+            logger.info("Execution report written to {}", reportFile.getAbsolutePath());
         }
     }
 
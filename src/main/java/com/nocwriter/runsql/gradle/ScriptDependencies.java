@@ -0,0 +1,168 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.script.ScriptRunnerException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves dependencies between script files. A script declares the scripts it depends on in its leading comment
+ * lines, e.g.:
+ * <pre>
+ *     -- depends-on: 001_schema.sql, ../common/types.sql
+ * </pre>
+ * Paths are relative to the directory of the declaring script, and must refer to scripts executed by the same task.
+ * Only comment and blank lines preceding the first statement are inspected.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ScriptDependencies {
+
+    /**
+     * Dependency header, holding a comma (or white space) separated list of script paths.
+     */
+    private static final Pattern DEPENDS_ON = Pattern.compile("^--\\s*depends-on:\\s*(.*)$", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Read the dependency headers of all script files and link each script to the scripts it depends on (see
+     * {@link ScriptObject#dependencies}).
+     *
+     * @param scripts Scripts to resolve, in declaration order.
+     * @return Scripts in dependency order (see {@link #sort(List)}).
+     * @throws ScriptRunnerException If a header refers to an unknown script or dependencies are cyclic.
+     */
+    public static List<ScriptObject> resolve(List<ScriptObject> scripts) {
+        Map<File, ScriptObject> scriptsByFile = new HashMap<>();
+        for (ScriptObject script : scripts) {
+            if (script.scriptFile != null) {
+                scriptsByFile.put(canonicalFile(script.scriptFile), script);
+            }
+        }
+
+        for (ScriptObject script : scripts) {
+            if (script.scriptFile == null) {
+                continue;
+            }
+
+            script.dependencies.clear();
+            for (String path : readHeaders(script)) {
+                File file = canonicalFile(new File(script.scriptFile.getParentFile(), path));
+                ScriptObject dependency = scriptsByFile.get(file);
+                if (dependency == null) {
+                    throw new ScriptRunnerException("Script " + script.scriptFile + " depends on " + path +
+                            ", which is not one of the executed script files.");
+                }
+                if (dependency != script) {
+                    script.dependencies.add(dependency);
+                }
+            }
+        }
+
+        return sort(scripts);
+    }
+
+    /**
+     * Order scripts so that every script follows the scripts it depends on. Otherwise, scripts keep their relative
+     * order. Dependencies on scripts not in the list are ignored (e.g.: scripts skipped as already applied).
+     *
+     * @param scripts Scripts to order.
+     * @return Scripts in dependency order.
+     * @throws ScriptRunnerException If dependencies are cyclic.
+     */
+    public static List<ScriptObject> sort(List<ScriptObject> scripts) {
+        Map<ScriptObject, Boolean> visited = new IdentityHashMap<>(scripts.size());
+        for (ScriptObject script : scripts) {
+            // 'false' marks a script being visited, 'true' a script already ordered.
+            visited.put(script, null);
+        }
+
+        List<ScriptObject> sorted = new ArrayList<>(scripts.size());
+        for (ScriptObject script : scripts) {
+            visit(script, visited, sorted, new ArrayList<>());
+        }
+        return sorted;
+    }
+
+    /**
+     * Depth-first visit of a script's dependencies, appending each script after all of its dependencies.
+     */
+    private static void visit(ScriptObject script,
+                              Map<ScriptObject, Boolean> visited,
+                              List<ScriptObject> sorted,
+                              List<ScriptObject> path) {
+        if (!visited.containsKey(script) || Boolean.TRUE.equals(visited.get(script))) {
+            return;
+        }
+
+        path.add(script);
+        if (Boolean.FALSE.equals(visited.get(script))) {
+            StringBuilder cycle = new StringBuilder();
+            for (ScriptObject member : path.subList(path.indexOf(script), path.size())) {
+                cycle.append(cycle.length() > 0 ? " -> " : "").append(member.scriptFile.getName());
+            }
+            throw new ScriptRunnerException("Cyclic script dependencies: " + cycle);
+        }
+
+        visited.put(script, false);
+        for (ScriptObject dependency : script.dependencies) {
+            visit(dependency, visited, sorted, path);
+        }
+        visited.put(script, true);
+        sorted.add(script);
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Read the dependency headers of a script file.
+     *
+     * @return Paths of the scripts it depends on, as written in the headers.
+     */
+    private static List<String> readHeaders(ScriptObject script) {
+        List<String> paths = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(ScriptsReader.openScriptFile(script.scriptFile,
+                script.encoding))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!line.startsWith("--")) {
+                    break;
+                }
+
+                Matcher matcher = DEPENDS_ON.matcher(line);
+                if (matcher.matches()) {
+                    for (String path : matcher.group(1).split("[,\\s]+")) {
+                        if (!path.isEmpty()) {
+                            paths.add(path);
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new ScriptRunnerException("Failed to read SQL file " + script.scriptFile.getAbsolutePath(), ex);
+        }
+        return paths;
+    }
+
+    /**
+     * @return Canonical form of a file, or its absolute form if it cannot be canonicalized.
+     */
+    private static File canonicalFile(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException ex) {
+            return file.getAbsoluteFile();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.nocwriter.runsql.gradle;
+
+import com.nocwriter.runsql.script.Compression;
+import com.nocwriter.runsql.script.ScriptRunnerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Expands {@link RunSQLProperties#scriptFile} entries into script files. An entry may be:
+ * <ul>
+ *     <li>A file, used as is.</li>
+ *     <li>A directory, expanded to all SQL scripts ('.sql', optionally compressed) under it, recursively.</li>
+ *     <li>A glob pattern (e.g.: 'migrations/**&#47;*.sql'), expanded to all matching files. '**' matches any number
+ *     of directories, '*' and '?' match within a single path element and '{a,b}' matches either alternative.</li>
+ * </ul>
+ * Files expanded out of a single entry are ordered naturally by their path relative to the directory (or the pattern's
+ * base directory): digit sequences are compared by numeric value, so 'V2__users.sql' precedes 'V10__orders.sql'.
+ * Entries themselves are expanded in declaration order. Only file names are collected; contents are read when each
+ * script is executed.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ScriptFileScanner {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ScriptFileScanner.class);
+
+    /**
+     * Extension of script files collected out of directories.
+     */
+    private static final String SCRIPT_EXTENSION = ".sql";
+
+    /**
+     * Orders relative paths naturally (see class documentation).
+     */
+    private static final Comparator<String> NATURAL_ORDER = ScriptFileScanner::compareNaturally;
+
+    /**
+     * Expand script file entries.
+     *
+     * @param baseDirectory Directory relative entries are resolved against (e.g.: the project directory).
+     * @param entries       Files, directories and glob patterns, or {@code null}.
+     * @return Script files, in execution order. Entries referring to missing files are returned as is (and reported
+     * as missing once executed).
+     */
+    public static List<File> scan(File baseDirectory, String[] entries) {
+        List<File> files = new ArrayList<>();
+        if (entries == null) {
+            return files;
+        }
+
+        for (String entry : entries) {
+            int globIndex = indexOfGlob(entry);
+            if (globIndex >= 0) {
+                files.addAll(scanGlob(baseDirectory, entry, globIndex));
+                continue;
+            }
+
+            File file = resolve(baseDirectory, entry);
+            if (file.isDirectory()) {
+                files.addAll(scanDirectory(file, ScriptFileScanner::isScriptFile));
+            } else {
+                files.add(file);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Expand a glob pattern.
+     *
+     * @param globIndex Offset of the first glob character.
+     */
+    private static List<File> scanGlob(File baseDirectory, String entry, int globIndex) {
+        // The pattern is matched against paths relative to the last directory preceding the first glob character.
+        String normalized = entry.replace('\\', '/');
+        int separator = normalized.lastIndexOf('/', globIndex);
+        File directory = separator < 0 ?
+                baseDirectory :
+                resolve(baseDirectory, separator == 0 ? "/" : normalized.substring(0, separator));
+        Pattern pattern = globToRegex(normalized.substring(separator + 1));
+
+        List<File> files = scanDirectory(directory, relativePath -> pattern.matcher(relativePath).matches());
+        if (files.isEmpty()) {
+            logger.warn("No script files match '{}'.", entry);
+        }
+        return files;
+    }
+
+    /**
+     * Collect regular files under a directory, ordered naturally by their relative path.
+     *
+     * @param filter Accepts relative paths ('/' separated) of files to collect.
+     */
+    private static List<File> scanDirectory(File directory, Predicate<String> filter) {
+        if (!directory.isDirectory()) {
+            return new ArrayList<>();
+        }
+
+        Path root = directory.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                    .filter(filter)
+                    .sorted(NATURAL_ORDER)
+                    .map(relativePath -> new File(directory, relativePath))
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException ex) {
+            throw new ScriptRunnerException("Failed to scan script directory " + directory.getAbsolutePath(), ex);
+        }
+    }
+
+    /**
+     * @return {@code true} if a file is an SQL script (optionally compressed).
+     */
+    private static boolean isScriptFile(String relativePath) {
+        return Compression.stripExtension(new File(relativePath)).toLowerCase(Locale.ROOT).endsWith(SCRIPT_EXTENSION);
+    }
+
+    /**
+     * @return Offset of the first glob character in an entry, or {@code -1} if it is a plain path.
+     */
+    private static int indexOfGlob(String entry) {
+        for (int index = 0; index < entry.length(); index++) {
+            char ch = entry.charAt(index);
+            if (ch == '*' || ch == '?' || ch == '{') {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resolve an entry against the base directory, unless it is absolute.
+     */
+    private static File resolve(File baseDirectory, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(baseDirectory, path);
+    }
+
+    /**
+     * Translate a glob pattern into a regular expression matching '/' separated relative paths.
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inAlternatives = false;
+        for (int index = 0; index < glob.length(); index++) {
+            char ch = glob.charAt(index);
+            switch (ch) {
+                case '*':
+                    if (index + 1 < glob.length() && glob.charAt(index + 1) == '*') {
+                        index++;
+                        if (index + 1 < glob.length() && glob.charAt(index + 1) == '/') {
+                            // '**/' matches zero or more directories.
+                            index++;
+                            regex.append("(?:.*/)?");
+                        } else {
+                            regex.append(".*");
+                        }
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '{':
+                    inAlternatives = true;
+                    regex.append("(?:");
+                    break;
+                case '}':
+                    inAlternatives = false;
+                    regex.append(')');
+                    break;
+                case ',':
+                    regex.append(inAlternatives ? "|" : ",");
+                    break;
+                default:
+                    regex.append(Pattern.quote(String.valueOf(ch)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Compare two strings, treating each sequence of digits as a single number.
+     */
+    private static int compareNaturally(String left, String right) {
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length() && rightIndex < right.length()) {
+            char leftChar = left.charAt(leftIndex);
+            char rightChar = right.charAt(rightIndex);
+            if (Character.isDigit(leftChar) && Character.isDigit(rightChar)) {
+                int leftEnd = endOfDigits(left, leftIndex);
+                int rightEnd = endOfDigits(right, rightIndex);
+                String leftNumber = stripLeadingZeros(left.substring(leftIndex, leftEnd));
+                String rightNumber = stripLeadingZeros(right.substring(rightIndex, rightEnd));
+
+                // Numbers of equal length compare like strings.
+                int result = leftNumber.length() != rightNumber.length() ?
+                        Integer.compare(leftNumber.length(), rightNumber.length()) :
+                        leftNumber.compareTo(rightNumber);
+                if (result != 0) {
+                    return result;
+                }
+                leftIndex = leftEnd;
+                rightIndex = rightEnd;
+            } else {
+                // Directory separators sort first, so a directory's files are kept together.
+                int result = leftChar == rightChar ? 0 :
+                        leftChar == '/' ? -1 :
+                        rightChar == '/' ? 1 :
+                        Character.compare(Character.toLowerCase(leftChar), Character.toLowerCase(rightChar));
+                if (result != 0) {
+                    return result;
+                }
+                leftIndex++;
+                rightIndex++;
+            }
+        }
+
+        int result = Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+        return result != 0 ? result : left.compareTo(right);
+    }
+
+    private static int endOfDigits(String str, int index) {
+        while (index < str.length() && Character.isDigit(str.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int index = 0;
+        while (index < digits.length() - 1 && digits.charAt(index) == '0') {
+            index++;
+        }
+        return digits.substring(index);
+    }
+}
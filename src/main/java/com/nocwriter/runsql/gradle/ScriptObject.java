@@ -1,8 +1,25 @@
 package com.nocwriter.runsql.gradle;
 
+import com.nocwriter.runsql.RunSQLException;
+import com.nocwriter.runsql.script.Compression;
+import com.nocwriter.runsql.script.ParseCache;
+import com.nocwriter.runsql.script.PipelinedStatementSource;
 import com.nocwriter.runsql.script.SQLStatement;
+import com.nocwriter.runsql.script.ScriptParser;
+import com.nocwriter.runsql.script.ScriptRunnerException;
+import com.nocwriter.runsql.script.StatementSource;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -15,13 +32,20 @@ import java.util.List;
  */
 public class ScriptObject {
 
+    /**
+     * Minimal size of a script file to parse in parallel (see {@link ScriptParser#parallelism}). Smaller files are
+     * parsed faster than they are split.
+     */
+    private static final long PARALLEL_PARSE_THRESHOLD = 16 * 1024 * 1024;
+
     /**
      * Script file, if the contents where read from file.
      */
     public File scriptFile;
 
     /**
-     * Script to execute.
+     * Script to execute. May be {@code null} for scripts read from file, in which case the contents are streamed from
+     * {@link #scriptFile} on demand (see {@link #openStatements(ScriptParser)}).
      */
     public String[] script;
 
@@ -30,6 +54,32 @@ public class ScriptObject {
      */
     public List<SQLStatement> statements = new LinkedList<>();
 
+    /**
+     * Number of leading statements to skip when opening this script's statements, e.g.: when resuming a script whose
+     * first statements were already committed by a previous run. Skipped statements are parsed but not returned.
+     */
+    public long skipStatements;
+
+    /**
+     * Charset of {@link #scriptFile}.
+     */
+    public Charset encoding = StandardCharsets.UTF_8;
+
+    /**
+     * Cache of parsed statements for {@link #scriptFile}, or {@code null} to always parse the script.
+     */
+    public ParseCache parseCache;
+
+    /**
+     * Scripts that must complete before this one starts (see {@link ScriptDependencies}).
+     */
+    public List<ScriptObject> dependencies = new ArrayList<>();
+
+    /**
+     * Content hash, computed on first use (see {@link #computeChecksum()}).
+     */
+    private String checksum;
+
     /**
      * Class constructor.
      */
@@ -56,6 +106,118 @@ public class ScriptObject {
         this.script = script;
     }
 
+    /**
+     * Opens a lazy iterator over this script's statements. In-memory scripts are parsed from {@link #script}, while
+     * file-based scripts are streamed from {@link #scriptFile}, so the file contents are never fully loaded to memory.
+     * If a {@link #parseCache} is set, file-based scripts parsed before are read from the cache instead. If the parser
+     * is configured to {@link ScriptParser#parseAhead parse ahead}, file-based scripts are read on a background
+     * thread. The first {@link #skipStatements} statements are skipped. The caller must close the returned iterator.
+     *
+     * @param parser Parser to extract statements with.
+     * @return Iterator over the script's SQL statements.
+     */
+    public StatementSource openStatements(ScriptParser parser) {
+        StatementSource statements;
+        if (script != null) {
+            statements = parser.iterateScript(Arrays.asList(script));
+        } else if (parseCache != null) {
+            statements = parseCache.open(ParseCache.key(computeChecksum(), encoding, parser),
+                    () -> parseScriptFile(parser));
+        } else {
+            statements = parseScriptFile(parser);
+        }
+
+        if (script == null && parser.parseAhead > 0) {
+            statements = new PipelinedStatementSource(statements, parser.parseAhead, scriptFile.getName());
+        }
+
+        for (long index = 0; index < skipStatements; index++) {
+            if (!statements.hasNext()) {
+                try {
+                    statements.close();
+                } catch (IOException ex) {
+                    // Ignore -- already failing.
+                }
+                throw new ScriptRunnerException(String.format(
+                        "Cannot skip %d statements -- script %s holds only %d statements.",
+                        skipStatements, scriptFile != null ? scriptFile : "n/a", index));
+            }
+            statements.next();
+        }
+
+        return statements;
+    }
+
+    /**
+     * Parse {@link #scriptFile}. Large files are parsed in parallel, if the parser is configured so.
+     */
+    private StatementSource parseScriptFile(ScriptParser parser) {
+        Reader reader = ScriptsReader.openScriptFile(scriptFile, encoding);
+        return scriptFile.length() >= PARALLEL_PARSE_THRESHOLD ?
+                parser.iterateScriptInParallel(reader) :
+                parser.iterateScript(reader);
+    }
+
+    /**
+     * Compute a content hash (SHA-256) of this script. File-based scripts are hashed over their (decompressed) bytes,
+     * which are streamed rather than loaded to memory. Line endings are normalized to '\n', so a script checked out
+     * with different line endings (e.g.: by Git's 'core.autocrlf' on Windows) has the same checksum. The hash is
+     * computed once per script object.
+     *
+     * @return Hex-encoded checksum.
+     */
+    public synchronized String computeChecksum() {
+        if (checksum != null) {
+            return checksum;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RunSQLException("Internal error: SHA-256 is not supported.", ex);
+        }
+
+        if (script != null) {
+            for (String line : script) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+        } else {
+            try (InputStream in = Compression.fromFileName(scriptFile) != Compression.NONE ?
+                    Compression.open(scriptFile) :
+                    Files.newInputStream(scriptFile.toPath())) {
+                byte[] buf = new byte[64 * 1024];
+                byte[] normalized = new byte[buf.length];
+                boolean afterCarriageReturn = false;
+                int count;
+                while ((count = in.read(buf)) != -1) {
+                    // '\r\n' and a lone '\r' are hashed as '\n' (the parser treats all three as line terminators).
+                    int length = 0;
+                    for (int index = 0; index < count; index++) {
+                        byte value = buf[index];
+                        if (value == '\n' && afterCarriageReturn) {
+                            afterCarriageReturn = false;
+                            continue;
+                        }
+                        afterCarriageReturn = value == '\r';
+                        normalized[length++] = afterCarriageReturn ? (byte) '\n' : value;
+                    }
+                    digest.update(normalized, 0, length);
+                }
+            } catch (IOException ex) {
+                throw new ScriptRunnerException("Failed to read SQL file " + scriptFile.getAbsolutePath(), ex);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte value : digest.digest()) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        checksum = hex.toString();
+        return checksum;
+    }
+
     /**
      * Simple factory to create a new script object.
      *
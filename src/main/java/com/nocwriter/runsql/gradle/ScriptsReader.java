@@ -1,14 +1,17 @@
 package com.nocwriter.runsql.gradle;
 
+import com.nocwriter.runsql.script.Compression;
+import com.nocwriter.runsql.script.MappedFileReader;
 import com.nocwriter.runsql.script.ScriptRunnerException;
-import org.gradle.api.Project;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -20,49 +23,83 @@ public class ScriptsReader {
     private static final Logger logger = LoggerFactory.getLogger(ScriptsReader.class);
 
     /**
-     * Fetch scripts provided via extension. The scripts can either be read from external files or can be a single
-     * direct script.
+     * Minimal size of a script file to read via memory mapping. Smaller files are read via a buffered reader, as
+     * mapping them costs more than it saves.
+     */
+    private static final long MAPPED_FILE_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Fetch scripts provided via extension, where script files were already resolved by the caller (e.g.: as a task
+     * input file collection). The scripts can either be read from external files or can be a single direct script.
+     * Script files are only checked for existence -- their contents are streamed during execution (see
+     * {@link ScriptObject#openStatements(com.nocwriter.runsql.script.ScriptParser)}).
      *
-     * @param project    Gradle project. Required to resolve files.
-     * @param properties Properties to read scripts by.
+     * @param scriptFiles Resolved script files, in execution order. Ignored if a direct script is provided.
+     * @param properties  Properties to read scripts by.
      * @return List of scripts.
      */
-    public static List<ScriptObject> fetchScripts(Project project, RunSQLProperties properties) {
+    public static List<ScriptObject> fetchScripts(Iterable<File> scriptFiles, RunSQLProperties properties) {
         List<ScriptObject> scripts = new LinkedList<>();
 
         if (properties.script != null) {
             scripts.add(new ScriptObject(properties.script));
         } else {
-            Arrays.stream(properties.scriptFile).forEach(scriptFile -> {
-                File file = project.file(scriptFile);
-                String[] contents = readScriptFile(file);
-                scripts.add(new ScriptObject(file, contents));
-            });
+            Charset encoding = Charset.forName(properties.encoding);
+            for (File file : scriptFiles) {
+                verifyScriptFile(file);
+                ScriptObject scriptObject = new ScriptObject(file, null);
+                scriptObject.encoding = encoding;
+                scripts.add(scriptObject);
+            }
         }
 
         return scripts;
     }
 
     /**
-     * Read SQL script file and parse statements.
+     * Opens a reader on an SQL script file. Compressed files (see {@link Compression}) are decompressed while being
+     * read. Large uncompressed files are memory mapped and decoded directly into the parser's buffer (see
+     * {@link MappedFileReader}), smaller ones are read via a buffered reader.
      *
-     * @return List of SQL statements to execute.
+     * @param scriptFile Script file to read.
+     * @param encoding   Charset of the script file.
+     * @return Reader for the script's contents.
      */
-    private static String[] readScriptFile(File scriptFile) {
-        if (!scriptFile.exists()) {
-            throw new IllegalStateException("Missing SQL file -- " + scriptFile.getAbsolutePath());
-        }
-        logger.info("SQL script file: {}", scriptFile.getAbsolutePath());
+    public static Reader openScriptFile(File scriptFile, Charset encoding) {
+        // Existence is checked without logging again -- a script file is opened more than once per execution.
+        requireScriptFile(scriptFile);
 
-        List<String> script;
         try {
-            script = Files.readAllLines(scriptFile.toPath());
+            if (Compression.fromFileName(scriptFile) != Compression.NONE) {
+                return new InputStreamReader(Compression.open(scriptFile), encoding.newDecoder());
+            }
+
+            return scriptFile.length() >= MAPPED_FILE_THRESHOLD ?
+                    new MappedFileReader(scriptFile.toPath(), encoding) :
+                    Files.newBufferedReader(scriptFile.toPath(), encoding);
         } catch (IOException ex) {
             logger.error("Failed to read SQL script file {}", scriptFile.getAbsolutePath());
             throw new ScriptRunnerException("Failed to read SQL file " + scriptFile.getAbsolutePath(), ex);
         }
+    }
+
+    /**
+     * Verify that an SQL script file exists.
+     *
+     * @param scriptFile Script file to check.
+     */
+    private static void verifyScriptFile(File scriptFile) {
+        requireScriptFile(scriptFile);
+        logger.info("SQL script file: {}", scriptFile.getAbsolutePath());
+    }
 
-        return script.toArray(new String[0]);
+    /**
+     * @param scriptFile Script file that must exist.
+     */
+    private static void requireScriptFile(File scriptFile) {
+        if (!scriptFile.exists()) {
+            throw new IllegalStateException("Missing SQL file -- " + scriptFile.getAbsolutePath());
+        }
     }
 
 
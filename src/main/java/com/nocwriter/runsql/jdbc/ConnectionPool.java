@@ -0,0 +1,266 @@
+package com.nocwriter.runsql.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A minimal JDBC connection pool for a single database URL and user.<p>
+ * <p>
+ * At most {@code maxSize} connections are open at any time (borrowed and idle combined); callers block until a
+ * connection is available, up to a configured timeout. Idle connections are validated before being handed out and are
+ * closed once they stay idle longer than the configured idle timeout. Eviction is performed whenever a connection is
+ * borrowed or released, so the pool does not require a background thread.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /**
+     * Timeout, in seconds, for validating a connection via {@link Connection#isValid(int)}.
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    /**
+     * Query used to validate idle connections, or {@code null} to use {@link Connection#isValid(int)}.
+     */
+    private final String validationQuery;
+
+    /**
+     * Time, in milliseconds, after which an idle connection is closed.
+     */
+    private final long idleTimeoutMillis;
+
+    /**
+     * Time, in milliseconds, to wait for a connection when all connections are borrowed, or {@code 0} to wait
+     * indefinitely.
+     */
+    private final long acquireTimeoutMillis;
+
+    /**
+     * Maximum number of open connections.
+     */
+    private final int maxSize;
+
+    /**
+     * Permits for opening connections; one permit per open connection.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently released first.
+     */
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+
+    /**
+     * Indicates the pool was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Class constructor.
+     *
+     * @param url                  JDBC URL.
+     * @param username             Username.
+     * @param password             Password.
+     * @param maxSize              Maximum number of open connections.
+     * @param validationQuery      Query to validate idle connections with ({@code null} to use
+     *                             {@link Connection#isValid(int)}).
+     * @param idleTimeoutMillis    Time, in milliseconds, after which an idle connection is closed.
+     * @param acquireTimeoutMillis Time, in milliseconds, to wait for a connection when all connections are borrowed,
+     *                             or {@code 0} to wait indefinitely.
+     */
+    public ConnectionPool(String url,
+                          String username,
+                          String password,
+                          int maxSize,
+                          String validationQuery,
+                          long idleTimeoutMillis,
+                          long acquireTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.validationQuery = validationQuery;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * @return Maximum number of open connections.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            if (acquireTimeoutMillis == 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException(String.format("Timed out after %d ms waiting for a pooled connection to %s " +
+                                "(all %d connections are in use, possibly by other tasks of the build). Increase " +
+                                "'connectionPoolSize' or 'poolAcquireTimeout'.",
+                        acquireTimeoutMillis, url, maxSize));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection.", ex);
+        }
+
+        try {
+            IdleConnection candidate;
+            while ((candidate = takeIdle()) != null) {
+                if (isValid(candidate.connection)) {
+                    return candidate.connection;
+                }
+
+                logger.debug("Discarding invalid pooled connection to {}.", url);
+                closeQuietly(candidate.connection);
+            }
+
+            return JdbcUtils.openJDBCConnection(username, password, url);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) throws SQLException {
+        try {
+            if (connection.isClosed()) {
+                return;
+            }
+
+            // Do not leak an open transaction (or transaction mode) to the next borrower.
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            synchronized (this) {
+                if (!closed) {
+                    idle.push(new IdleConnection(connection, System.currentTimeMillis()));
+                    evictExpired();
+                    return;
+                }
+            }
+
+            closeQuietly(connection);
+        } catch (SQLException ex) {
+            logger.debug("Discarding pooled connection that could not be reset.", ex);
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        IdleConnection candidate;
+        while ((candidate = idle.poll()) != null) {
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    /**
+     * Take the most recently released idle connection, after closing expired ones.
+     *
+     * @return Idle connection, or {@code null} if there is none.
+     */
+    private synchronized IdleConnection takeIdle() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+
+        evictExpired();
+        return idle.poll();
+    }
+
+    /**
+     * Close connections that stayed idle longer than the idle timeout.
+     */
+    private synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<IdleConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            IdleConnection candidate = iterator.next();
+            if (now - candidate.releasedAt <= idleTimeoutMillis) {
+                // Connections are ordered by release time, so all remaining ones are younger.
+                break;
+            }
+
+            iterator.remove();
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    /**
+     * Check that a pooled connection is still usable.
+     */
+    private boolean isValid(Connection connection) {
+        try {
+            if (validationQuery == null) {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+                statement.execute(validationQuery);
+                return true;
+            }
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            logger.debug("Failed to close pooled connection.", ex);
+        }
+    }
+
+    /**
+     * An idle connection and the time it was released at.
+     */
+    private static class IdleConnection {
+
+        private final Connection connection;
+
+        private final long releasedAt;
+
+        IdleConnection(Connection connection, long releasedAt) {
+            this.connection = connection;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nocwriter.runsql.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of JDBC connections. Decouples script execution from the way connections are obtained.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface ConnectionProvider {
+
+    /**
+     * Obtain a connection.
+     *
+     * @return JDBC connection ready for use.
+     * @throws SQLException If any SQL-related error occurs.
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * Hand back a connection previously obtained via {@link #getConnection()}. The default implementation closes it.
+     *
+     * @param connection Connection to release.
+     * @throws SQLException If any SQL-related error occurs.
+     */
+    default void releaseConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+}
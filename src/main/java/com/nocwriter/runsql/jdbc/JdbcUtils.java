@@ -78,14 +78,30 @@ public class JdbcUtils {
      *
      * @param classLoader     Class loader to use for loading the driver class name.
      * @param driverClassName Driver class name.
+     * @return The registered driver.
      */
-    public static void registerDriver(ClassLoader classLoader, String driverClassName) {
+    public static Driver registerDriver(ClassLoader classLoader, String driverClassName) {
         Driver driver = loadJdbcDriver(classLoader, driverClassName);
         try {
             DriverManager.registerDriver(driver);
         } catch (SQLException ex) {
             throw new RunSQLException("Failed to register JDBC driver class '" + driverClassName + "'.", ex);
         }
+        return driver;
+    }
+
+    /**
+     * Remove a driver previously registered via {@link #registerDriver(ClassLoader, String)} from JDBC's driver
+     * manager. Failures are logged and otherwise ignored.
+     *
+     * @param driver Driver to deregister.
+     */
+    public static void deregisterDriver(Driver driver) {
+        try {
+            DriverManager.deregisterDriver(driver);
+        } catch (SQLException ex) {
+            logger.warn("Failed to deregister JDBC driver {}.", driver, ex);
+        }
     }
 
     /**
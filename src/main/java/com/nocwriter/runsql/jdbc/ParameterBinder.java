@@ -0,0 +1,94 @@
+package com.nocwriter.runsql.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Locale;
+
+/**
+ * Binds textual values (e.g.: read from a data file or extracted from SQL literals) to prepared statement parameters,
+ * converting them to the parameter's SQL type. Strict typing drivers (e.g.: PostgreSQL) reject a string bound to a
+ * numeric or date parameter, so values are converted on the client side.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ParameterBinder {
+
+    /**
+     * Bind a single value.
+     *
+     * @param statement Prepared statement.
+     * @param parameter Parameter index (1-based).
+     * @param sqlType   Parameter SQL type (see {@link Types}).
+     * @param value     Value to bind, or {@code null} for SQL NULL.
+     * @throws SQLException             If the driver rejected the value.
+     * @throws IllegalArgumentException If the value cannot be converted to the parameter's type.
+     */
+    public static void bind(PreparedStatement statement, int parameter, int sqlType, String value)
+            throws SQLException, IllegalArgumentException {
+        if (value == null) {
+            statement.setNull(parameter, sqlType);
+            return;
+        }
+
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                statement.setBigDecimal(parameter, new BigDecimal(value.trim()));
+                break;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                statement.setBoolean(parameter, parseBoolean(value.trim()));
+                break;
+            case Types.DATE:
+                statement.setDate(parameter, Date.valueOf(value.trim()));
+                break;
+            case Types.TIME:
+                statement.setTime(parameter, Time.valueOf(value.trim()));
+                break;
+            case Types.TIMESTAMP:
+                statement.setTimestamp(parameter, Timestamp.valueOf(value.trim()));
+                break;
+            default:
+                statement.setString(parameter, value);
+        }
+    }
+
+    /**
+     * Parse a boolean value ('true'/'false', 't'/'f', 'yes'/'no', 'y'/'n' or '1'/'0').
+     *
+     * @param value Value to parse.
+     * @return Boolean value.
+     * @throws IllegalArgumentException If the value is not a boolean value.
+     */
+    public static boolean parseBoolean(String value) throws IllegalArgumentException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "t":
+            case "yes":
+            case "y":
+            case "1":
+                return true;
+            case "false":
+            case "f":
+            case "no":
+            case "n":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("Not a boolean value: " + value);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nocwriter.runsql.migration;
+
+import com.nocwriter.runsql.gradle.ScriptObject;
+import com.nocwriter.runsql.script.Compression;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A versioned migration script. Versions and descriptions are taken from script file names, of the form
+ * 'V&lt;version&gt;__&lt;description&gt;.sql' (e.g.: 'V1_2__add_orders.sql' is version 1.2, described as 'add orders').
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class Migration {
+
+    /**
+     * Migration script file name.
+     */
+    private static final Pattern FILE_NAME = Pattern.compile("[vV](\\d+(?:[._]\\d+)*)__(.+)\\.[sS][qQ][lL]");
+
+    /**
+     * Migration version.
+     */
+    public final MigrationVersion version;
+
+    /**
+     * Description of the migration.
+     */
+    public final String description;
+
+    /**
+     * Migration script.
+     */
+    public final ScriptObject script;
+
+    /**
+     * Class constructor.
+     *
+     * @param version     Migration version.
+     * @param description Description of the migration.
+     * @param script      Migration script.
+     */
+    public Migration(MigrationVersion version, String description, ScriptObject script) {
+        this.version = version;
+        this.description = description;
+        this.script = script;
+    }
+
+    /**
+     * Create a migration out of a script file, parsing its file name.
+     *
+     * @param script Migration script (read from file).
+     * @return New migration.
+     * @throws MigrationException If the script was not read from file or its name does not carry a version.
+     */
+    public static Migration fromScript(ScriptObject script) {
+        if (script.scriptFile == null) {
+            throw new MigrationException("Migrations must be read from script files.");
+        }
+
+        Matcher matcher = FILE_NAME.matcher(Compression.stripExtension(script.scriptFile));
+        if (!matcher.matches()) {
+            throw new MigrationException("Invalid migration file name: " + script.scriptFile.getName() +
+                    " (expected 'V<version>__<description>.sql', e.g.: 'V1_2__add_orders.sql').");
+        }
+
+        return new Migration(MigrationVersion.parse(matcher.group(1)), matcher.group(2).replace('_', ' '), script);
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " (" + description + ")";
+    }
+}
@@ -0,0 +1,21 @@
+package com.nocwriter.runsql.migration;
+
+import com.nocwriter.runsql.RunSQLException;
+
+/**
+ * Indicates that migrations cannot be applied, e.g.: an applied migration was modified or a migration script is not
+ * versioned.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class MigrationException extends RunSQLException {
+
+    public MigrationException(String message) {
+        super(message);
+    }
+
+    public MigrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,213 @@
+package com.nocwriter.runsql.migration;
+
+import com.nocwriter.runsql.gradle.ScriptObject;
+import com.nocwriter.runsql.script.ScriptParser;
+import com.nocwriter.runsql.script.ScriptRunner;
+import com.nocwriter.runsql.script.ScriptRunnerException;
+import com.nocwriter.runsql.script.StatementSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Applies versioned migration scripts (see {@link Migration}) to a database, keeping track of applied migrations in a
+ * {@link SchemaHistory schema history table}. Only pending migrations -- those not recorded in the table -- are
+ * applied, in version order, one after the other on a single connection. Each migration runs in a transaction of its
+ * own, and is recorded in the history table within that transaction, so it is either applied and recorded or neither
+ * (except for databases committing DDL statements implicitly, e.g.: MySQL and Oracle).<p>
+ * <p>
+ * Before anything is applied, migrations are validated against the history table. Migration is refused if:
+ * <ul>
+ *     <li>A previously applied migration script was modified since (checksum mismatch).</li>
+ *     <li>A previous migration failed. After cleaning up its partial changes (if any), its row must be deleted from
+ *     the history table for it to be applied again.</li>
+ *     <li>A pending migration is older than the latest applied one.</li>
+ * </ul>
+ * The history table is not locked, so migrations must not be applied to the same database concurrently (e.g.: by two
+ * deployments at once), as both may apply the same migration.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class MigrationRunner {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    /**
+     * JDBC connection to migrate.
+     */
+    private final Connection connection;
+
+    /**
+     * Parser for extracting statements out of scripts.
+     */
+    private final ScriptParser parser;
+
+    /**
+     * Applies execution settings (e.g.: batch size) on each newly created script runner.
+     */
+    private final Consumer<ScriptRunner> runnerConfigurer;
+
+    /**
+     * History of applied migrations.
+     */
+    private final SchemaHistory history;
+
+    /**
+     * Class constructor.
+     *
+     * @param connection       JDBC connection to migrate.
+     * @param parser           Parser for extracting statements out of scripts.
+     * @param runnerConfigurer Applies execution settings on each newly created script runner.
+     * @param historyTable     Name of the schema history table.
+     */
+    public MigrationRunner(Connection connection,
+                           ScriptParser parser,
+                           Consumer<ScriptRunner> runnerConfigurer,
+                           String historyTable) {
+        this.connection = connection;
+        this.parser = parser;
+        this.runnerConfigurer = runnerConfigurer;
+        this.history = new SchemaHistory(connection, historyTable);
+    }
+
+    /**
+     * Validate migration scripts against the history table and apply the pending ones.
+     *
+     * @param scripts Migration scripts (in any order).
+     * @return Number of applied migrations.
+     * @throws MigrationException    If migrations are invalid (see class documentation).
+     * @throws ScriptRunnerException If a migration failed.
+     * @throws SQLException          If the history table could not be accessed.
+     */
+    public int migrate(List<ScriptObject> scripts) throws SQLException {
+        List<Migration> migrations = new ArrayList<>(scripts.size());
+        for (ScriptObject script : scripts) {
+            migrations.add(Migration.fromScript(script));
+        }
+        migrations.sort(Comparator.comparing(migration -> migration.version));
+        for (int index = 1; index < migrations.size(); index++) {
+            if (migrations.get(index).version.equals(migrations.get(index - 1).version)) {
+                throw new MigrationException("Found more than one migration with version " +
+                        migrations.get(index).version + ": " + migrations.get(index - 1).script.scriptFile + ", " +
+                        migrations.get(index).script.scriptFile);
+            }
+        }
+
+        history.createIfMissing();
+        Map<MigrationVersion, SchemaHistory.AppliedMigration> applied = history.load();
+        List<Migration> pending = selectPending(migrations, applied);
+        if (pending.isEmpty()) {
+            logger.info("Schema is up to date ({} migrations applied).", applied.size());
+            return 0;
+        }
+
+        for (Migration migration : pending) {
+            apply(migration);
+        }
+        logger.info("Applied {} migrations.", pending.size());
+        return pending.size();
+    }
+
+    /**
+     * Validate migrations against the history table.
+     *
+     * @return Migrations not applied yet, in version order.
+     */
+    private static List<Migration> selectPending(List<Migration> migrations,
+                                                 Map<MigrationVersion, SchemaHistory.AppliedMigration> applied) {
+        MigrationVersion latest = null;
+        for (SchemaHistory.AppliedMigration appliedMigration : applied.values()) {
+            if (!appliedMigration.success) {
+                throw new MigrationException("Migration V" + appliedMigration.version + " failed on a previous " +
+                        "run. Clean up its changes and delete its row from the schema history table to apply it " +
+                        "again.");
+            }
+            latest = appliedMigration.version;
+        }
+
+        List<Migration> pending = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+        for (Migration migration : migrations) {
+            SchemaHistory.AppliedMigration appliedMigration = applied.get(migration.version);
+            if (appliedMigration == null) {
+                pending.add(migration);
+            } else if (!appliedMigration.checksum.equals(migration.script.computeChecksum())) {
+                modified.add(migration.script.scriptFile.getName());
+            }
+        }
+
+        if (!modified.isEmpty()) {
+            throw new MigrationException("Applied migrations were modified since: " + String.join(", ", modified));
+        }
+
+        if (!pending.isEmpty() && latest != null && pending.get(0).version.compareTo(latest) < 0) {
+            throw new MigrationException("Migration " + pending.get(0) + " is older than the latest applied " +
+                    "migration (V" + latest + ").");
+        }
+
+        return pending;
+    }
+
+    /**
+     * Apply a single migration and record its outcome.
+     */
+    private void apply(Migration migration) throws SQLException {
+        logger.info("Applying migration {}", migration);
+        ScriptObject script = migration.script;
+        String checksum = script.computeChecksum();
+        long startTime = System.nanoTime();
+
+        try {
+            try (StatementSource statements = script.openStatements(parser)) {
+                ScriptRunner runner = new ScriptRunner(connection);
+                runnerConfigurer.accept(runner);
+                runner.autoCommit = false;
+                runner.commitInterval = 0;
+                runner.commitIntervalBytes = 0;
+                runner.commitIntervalSeconds = 0;
+                runner.commitOnCompletion = false;
+                // A retry would replay the migration from its first statement, re-running DDL that databases may have
+                // committed implicitly (e.g.: MySQL and Oracle), so migrations are not retried.
+                runner.retryPolicy = null;
+                runner.executeSQL(script, statements);
+            }
+
+            // Recording the migration commits its transaction.
+            history.record(migration, script.scriptFile.getName(), checksum, elapsedMillis(startTime), true);
+        } catch (IOException | RuntimeException | SQLException ex) {
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                history.record(migration, script.scriptFile.getName(), checksum, elapsedMillis(startTime), false);
+            } catch (SQLException recordEx) {
+                ex.addSuppressed(recordEx);
+            }
+
+            if (ex instanceof IOException) {
+                throw new ScriptRunnerException("Failed to close SQL file " + script.scriptFile, ex);
+            }
+            if (ex instanceof SQLException) {
+                throw (SQLException) ex;
+            }
+            throw (RuntimeException) ex;
+        }
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
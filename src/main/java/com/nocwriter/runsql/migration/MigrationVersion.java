@@ -0,0 +1,84 @@
+package com.nocwriter.runsql.migration;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Version of a migration, made of numeric parts (e.g.: '1.2.10'). Versions are compared part by part, by numeric
+ * value; missing trailing parts count as zero, so '1.2' and '1.2.0' are the same version.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class MigrationVersion implements Comparable<MigrationVersion> {
+
+    /**
+     * Version parts.
+     */
+    private final List<BigInteger> parts;
+
+    /**
+     * Class constructor.
+     *
+     * @param parts Version parts.
+     */
+    private MigrationVersion(List<BigInteger> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Parse a version string.
+     *
+     * @param version Version, with parts separated by '.' or '_' (e.g.: '1.2' or '1_2').
+     * @return Parsed version.
+     * @throws NumberFormatException If the version is not made of numeric parts.
+     */
+    public static MigrationVersion parse(String version) {
+        List<BigInteger> parts = new ArrayList<>();
+        for (String part : version.split("[._]", -1)) {
+            parts.add(new BigInteger(part));
+        }
+
+        // Drop trailing zero parts, so equal versions have equal representations.
+        while (parts.size() > 1 && parts.get(parts.size() - 1).signum() == 0) {
+            parts.remove(parts.size() - 1);
+        }
+        return new MigrationVersion(parts);
+    }
+
+    @Override
+    public int compareTo(MigrationVersion other) {
+        for (int index = 0; index < Math.max(parts.size(), other.parts.size()); index++) {
+            BigInteger left = index < parts.size() ? parts.get(index) : BigInteger.ZERO;
+            BigInteger right = index < other.parts.size() ? other.parts.get(index) : BigInteger.ZERO;
+            int result = left.compareTo(right);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof MigrationVersion && parts.equals(((MigrationVersion) obj).parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return parts.hashCode();
+    }
+
+    /**
+     * @return Version parts separated by '.' (as recorded in the schema history table).
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        for (BigInteger part : parts) {
+            str.append(str.length() > 0 ? "." : "").append(part);
+        }
+        return str.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package com.nocwriter.runsql.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Schema history table, recording every migration applied to a database: its version, description, script, checksum,
+ * time of installation, execution time (in milliseconds) and whether it succeeded. The table is created on first use.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class SchemaHistory {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SchemaHistory.class);
+
+    /**
+     * JDBC connection.
+     */
+    private final Connection connection;
+
+    /**
+     * Name of the history table (optionally schema-qualified).
+     */
+    private final String tableName;
+
+    /**
+     * Class constructor.
+     *
+     * @param connection JDBC connection.
+     * @param tableName  Name of the history table (optionally schema-qualified).
+     */
+    public SchemaHistory(Connection connection, String tableName) {
+        this.connection = connection;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Create the history table, unless it already exists.
+     *
+     * @throws SQLException If the table could not be looked up or created.
+     */
+    public void createIfMissing() throws SQLException {
+        if (exists()) {
+            return;
+        }
+
+        logger.info("Creating schema history table {}", tableName);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + tableName + " (" +
+                    "version VARCHAR(50) NOT NULL PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "script VARCHAR(1000) NOT NULL, " +
+                    "checksum VARCHAR(64) NOT NULL, " +
+                    "installed_on TIMESTAMP NOT NULL, " +
+                    "execution_time INTEGER NOT NULL, " +
+                    "success SMALLINT NOT NULL)");
+        }
+        commit();
+    }
+
+    /**
+     * Load all recorded migrations.
+     *
+     * @return Recorded migrations, by version (in version order).
+     * @throws SQLException If the table could not be read.
+     */
+    public Map<MigrationVersion, AppliedMigration> load() throws SQLException {
+        Map<MigrationVersion, AppliedMigration> applied = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum, success FROM " + tableName)) {
+            while (rs.next()) {
+                MigrationVersion version = MigrationVersion.parse(rs.getString(1));
+                applied.put(version, new AppliedMigration(version, rs.getString(2), rs.getInt(3) != 0));
+            }
+        }
+        commit();
+        return applied;
+    }
+
+    /**
+     * Record the outcome of a migration, and commit.
+     *
+     * @param migration     Applied migration.
+     * @param scriptName    Name of the migration script.
+     * @param checksum      Checksum of the migration script.
+     * @param executionTime Execution time, in milliseconds.
+     * @param success       {@code true} if the migration succeeded.
+     * @throws SQLException If the record could not be written.
+     */
+    public void record(Migration migration, String scriptName, String checksum, long executionTime, boolean success)
+            throws SQLException {
+        String sql = "INSERT INTO " + tableName + " (version, description, script, checksum, installed_on, " +
+                "execution_time, success) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, migration.version.toString());
+            statement.setString(2, truncate(migration.description, 200));
+            statement.setString(3, truncate(scriptName, 1000));
+            statement.setString(4, checksum);
+            statement.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            statement.setInt(6, (int) Math.min(executionTime, Integer.MAX_VALUE));
+            statement.setInt(7, success ? 1 : 0);
+            statement.executeUpdate();
+        }
+        commit();
+    }
+
+    /**
+     * Check if the history table exists, trying the name as is, in upper case and in lower case (databases differ in
+     * the case they store unquoted identifiers in).
+     */
+    private boolean exists() throws SQLException {
+        String schema = null;
+        String table = tableName;
+        int separator = tableName.lastIndexOf('.');
+        if (separator >= 0) {
+            schema = tableName.substring(0, separator);
+            table = tableName.substring(separator + 1);
+        }
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (int attempt = 0; attempt < 3; attempt++) {
+            String schemaPattern = schema == null ? null : caseOf(schema, attempt);
+            try (ResultSet rs = metaData.getTables(null, schemaPattern, caseOf(table, attempt), null)) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Identifier as is (attempt 0), in upper case (attempt 1) or in lower case (attempt 2).
+     */
+    private static String caseOf(String identifier, int attempt) {
+        return attempt == 0 ? identifier :
+                attempt == 1 ? identifier.toUpperCase(Locale.ROOT) :
+                identifier.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Commit, unless in auto-commit mode.
+     */
+    private void commit() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * A migration recorded in the history table.
+     */
+    public static class AppliedMigration {
+
+        /**
+         * Migration version.
+         */
+        public final MigrationVersion version;
+
+        /**
+         * Checksum of the script, at the time it was applied.
+         */
+        public final String checksum;
+
+        /**
+         * Indicates if the migration succeeded.
+         */
+        public final boolean success;
+
+        AppliedMigration(MigrationVersion version, String checksum, boolean success) {
+            this.version = version;
+            this.checksum = checksum;
+            this.success = success;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.nocwriter.runsql.script;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compression formats of script and data files, detected by file extension. Compressed files are decompressed while
+ * being read, so their uncompressed contents are never written to disk nor fully held in memory.<p>
+ * <p>
+ * Zstandard support requires <a href="https://github.com/luben/zstd-jni">zstd-jni</a> on the build script's
+ * classpath. It is accessed reflectively, so the plugin does not depend on it otherwise.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public enum Compression {
+
+    /**
+     * Uncompressed file.
+     */
+    NONE(""),
+
+    /**
+     * GZIP compressed file ('.gz').
+     */
+    GZIP(".gz"),
+
+    /**
+     * Zstandard compressed file ('.zst').
+     */
+    ZSTD(".zst");
+
+    /**
+     * Size of decompression buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * zstd-jni decompressing input stream class.
+     */
+    private static final String ZSTD_INPUT_STREAM_CLASS_NAME = "com.github.luben.zstd.ZstdInputStream";
+
+    /**
+     * File extension (lower case), or an empty string for uncompressed files.
+     */
+    public final String extension;
+
+    Compression(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Detect compression by file extension.
+     *
+     * @param file File to check.
+     * @return Compression format, or {@link #NONE} if the file is not compressed.
+     */
+    public static Compression fromFileName(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        for (Compression compression : values()) {
+            if (compression != NONE && name.endsWith(compression.extension)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Strip a compression extension off a file name (e.g.: 'users.csv.gz' becomes 'users.csv').
+     *
+     * @param file File.
+     * @return File name, without compression extension.
+     */
+    public static String stripExtension(File file) {
+        String name = file.getName();
+        return name.substring(0, name.length() - fromFileName(file).extension.length());
+    }
+
+    /**
+     * Open a compressed file, detecting its compression by file extension.
+     *
+     * @param file File to open.
+     * @return Stream of decompressed contents.
+     * @throws IOException If the file could not be opened or its decompressor is not available.
+     */
+    public static InputStream open(File file) throws IOException {
+        InputStream in = Files.newInputStream(file.toPath());
+        try {
+            return fromFileName(file).decompress(in);
+        } catch (IOException | RuntimeException ex) {
+            in.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Wrap an input stream with a decompressing one.
+     *
+     * @param in Compressed input stream. Closed along with the returned stream.
+     * @return Stream of decompressed contents.
+     * @throws IOException If the stream header is invalid or the decompressor is not available.
+     */
+    public InputStream decompress(InputStream in) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(in, BUFFER_SIZE);
+            case ZSTD:
+                return zstdInputStream(in);
+            default:
+                return in;
+        }
+    }
+
+    /**
+     * Create a zstd-jni decompressing stream reflectively.
+     */
+    private static InputStream zstdInputStream(InputStream in) throws IOException {
+        Constructor<?> constructor;
+        try {
+            Class<?> streamClass = Class.forName(ZSTD_INPUT_STREAM_CLASS_NAME, true,
+                    Compression.class.getClassLoader());
+            constructor = streamClass.getConstructor(InputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError ex) {
+            throw new IOException("Reading '.zst' files requires zstd-jni (com.github.luben:zstd-jni) on the " +
+                    "build script classpath.", ex);
+        }
+
+        try {
+            return (InputStream) constructor.newInstance(in);
+        } catch (InvocationTargetException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof IOException ?
+                    (IOException) cause :
+                    new IOException("Failed to initialize Zstandard decompression.", cause);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            throw new IOException("Failed to initialize Zstandard decompression.", ex);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.nocwriter.runsql.script;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lazily extracts SQL statements from a script according to an {@link SQLDialect}. Unlike {@link StatementIterator},
+ * quoting and comment state is carried from one line to the next, so function bodies, multi-line string literals and
+ * block comments are kept intact. Line comments are removed, as are comments and white space preceding a statement.
+ * Statements consisting of comments only are skipped.<p>
+ * <p>
+ * Instances are created via {@link ScriptParser#iterateScript(java.io.Reader)} or
+ * {@link ScriptParser#iterateScript(java.util.List)}, for any dialect other than {@link SQLDialect#GENERIC}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class DialectStatementIterator implements StatementSource {
+
+    /**
+     * MySQL delimiter command.
+     */
+    private static final Pattern DELIMITER_COMMAND = Pattern.compile("(?i)DELIMITER\\s+(\\S+)\\s*");
+
+    /**
+     * SQL Server batch separator (optionally followed by a repeat count, which is ignored).
+     */
+    private static final Pattern BATCH_SEPARATOR = Pattern.compile("(?i)GO(\\s+\\d+)?\\s*;?");
+
+    /**
+     * Beginning of an Oracle PL/SQL block, terminated by a '/' line rather than by ';'.
+     */
+    private static final Pattern PLSQL_BLOCK = Pattern.compile("(?is)(DECLARE|BEGIN|CREATE\\s+(OR\\s+REPLACE\\s+)?" +
+            "((NON)?EDITIONABLE\\s+)?(FUNCTION|PROCEDURE|PACKAGE|TRIGGER|TYPE|LIBRARY|JAVA))\\b.*");
+
+    /**
+     * Marks "not within a quoted block" state.
+     */
+    private static final char NO_QUOTE = 0;
+
+    /**
+     * Source of script lines (in-memory scripts), or {@code null} if the script is read from {@link #reader}.
+     */
+    private final Iterator<String> lines;
+
+    /**
+     * Source of script lines, or {@code null} for in-memory scripts.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Indicates if newlines should be kept on the generated SQL statements (see {@link ScriptParser#keepNewlines}).
+     */
+    private final boolean keepNewlines;
+
+    /**
+     * Dialect to split statements by.
+     */
+    private final SQLDialect dialect;
+
+    /**
+     * Statements completed but not yet consumed by the caller.
+     */
+    private final Deque<SQLStatement> pending = new ArrayDeque<>();
+
+    /**
+     * Text of the statement currently being assembled. Empty until the first character of the statement.
+     */
+    private final StringBuilder buf = new StringBuilder();
+
+    /**
+     * Statement delimiter, or {@code null} if statements are separated by batch separators only ({@link
+     * SQLDialect#SQLSERVER}).
+     */
+    private String delimiter;
+
+    /**
+     * Closing quote character of the quoted block being scanned, or {@link #NO_QUOTE}.
+     */
+    private char closingQuote = NO_QUOTE;
+
+    /**
+     * Indicates that backslash escapes the next character in the quoted block being scanned.
+     */
+    private boolean backslashEscapes;
+
+    /**
+     * Indicates that a block comment is being scanned.
+     */
+    private boolean inBlockComment;
+
+    /**
+     * Closing tag of the dollar-quoted block being scanned (e.g.: '$body$'), or {@code null}.
+     */
+    private String dollarTag;
+
+    /**
+     * Indicates that the current statement is an Oracle PL/SQL block, or {@code null} if not determined yet.
+     */
+    private Boolean plsqlBlock;
+
+    /**
+     * Number of the line last read from the script.
+     */
+    private int lineNumber = 0;
+
+    /**
+     * Line number the statement currently being assembled starts at.
+     */
+    private int statementLineNumber = 0;
+
+    /**
+     * Indicates that the entire script was read.
+     */
+    private boolean endOfInput = false;
+
+    /**
+     * Class constructor for in-memory scripts.
+     *
+     * @param lines        Source of script lines.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     * @param dialect      Dialect to split statements by.
+     */
+    DialectStatementIterator(Iterator<String> lines, boolean keepNewlines, SQLDialect dialect) {
+        this.lines = lines;
+        this.reader = null;
+        this.keepNewlines = keepNewlines;
+        this.dialect = dialect;
+        this.delimiter = dialect == SQLDialect.SQLSERVER ? null : ";";
+    }
+
+    /**
+     * Class constructor for scripts read from a reader.
+     *
+     * @param reader       Source of script characters.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     * @param dialect      Dialect to split statements by.
+     */
+    DialectStatementIterator(Reader reader, boolean keepNewlines, SQLDialect dialect) {
+        this.lines = null;
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.keepNewlines = keepNewlines;
+        this.dialect = dialect;
+        this.delimiter = dialect == SQLDialect.SQLSERVER ? null : ";";
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pending.isEmpty() && !endOfInput) {
+            String line = nextLine();
+            if (line == null) {
+                endOfInput = true;
+                flush();
+            } else {
+                scanLine(line);
+            }
+        }
+
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public SQLStatement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return pending.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * @return Next script line, or {@code null} if the script is exhausted.
+     */
+    private String nextLine() {
+        if (lines != null) {
+            return lines.hasNext() ? lines.next() : null;
+        }
+
+        try {
+            return reader.readLine();
+        } catch (IOException ex) {
+            throw new ScriptRunnerException("Failed to read SQL script (line: " + (lineNumber + 1) + ").", ex);
+        }
+    }
+
+    /**
+     * Process a single script line, adding any statement completed on this line to the pending queue.
+     */
+    private void scanLine(String line) {
+        lineNumber++;
+
+        boolean inQuotedText = closingQuote != NO_QUOTE || dollarTag != null;
+        if (!inQuotedText && !inBlockComment && isCommand(line.trim())) {
+            return;
+        }
+
+        if (buf.length() > 0) {
+            // Line breaks within quoted text are part of the value, so they are always kept.
+            buf.append(keepNewlines || inQuotedText ? '\n' : ' ');
+        }
+
+        int length = line.length();
+        for (int index = 0; index < length; index++) {
+            char ch = line.charAt(index);
+
+            if (inBlockComment) {
+                if (ch == '*' && index + 1 < length && line.charAt(index + 1) == '/') {
+                    inBlockComment = false;
+                    index++;
+                    append("*/");
+                } else {
+                    append(ch);
+                }
+            } else if (dollarTag != null) {
+                if (ch == '$' && line.startsWith(dollarTag, index)) {
+                    append(dollarTag);
+                    index += dollarTag.length() - 1;
+                    dollarTag = null;
+                } else {
+                    buf.append(ch);
+                }
+            } else if (closingQuote != NO_QUOTE) {
+                buf.append(ch);
+                if (backslashEscapes && ch == '\\' && index + 1 < length) {
+                    buf.append(line.charAt(++index));
+                } else if (ch == closingQuote) {
+                    closingQuote = NO_QUOTE;
+                }
+            } else if (isLineComment(line, index)) {
+                break;
+            } else if (ch == '/' && index + 1 < length && line.charAt(index + 1) == '*') {
+                inBlockComment = true;
+                index++;
+                append("/*");
+            } else if (delimiter != null && line.startsWith(delimiter, index) && !isPlsqlBlock()) {
+                // Oracle does not accept a terminating ';', and custom delimiters are never sent to the database.
+                if (";".equals(delimiter) && dialect != SQLDialect.ORACLE) {
+                    buf.append(';');
+                }
+                index += delimiter.length() - 1;
+                flush();
+            } else {
+                index = scanToken(line, index);
+            }
+        }
+    }
+
+    /**
+     * Scan a character outside of quoted text and comments, which may start quoted text.
+     *
+     * @return Offset of the last character consumed.
+     */
+    private int scanToken(String line, int index) {
+        char ch = line.charAt(index);
+        if (Character.isWhitespace(ch)) {
+            // Leading white space of a statement is dropped.
+            if (buf.length() > 0) {
+                buf.append(ch);
+            }
+            return index;
+        }
+
+        if (buf.length() == 0) {
+            statementLineNumber = lineNumber;
+        }
+
+        if (ch == '\'') {
+            closingQuote = '\'';
+            backslashEscapes = dialect == SQLDialect.MYSQL ||
+                    (dialect == SQLDialect.POSTGRESQL && isEscapeStringPrefix(line, index));
+        } else if (ch == '"') {
+            closingQuote = '"';
+            backslashEscapes = dialect == SQLDialect.MYSQL;
+        } else if (ch == '`' && dialect == SQLDialect.MYSQL) {
+            closingQuote = '`';
+            backslashEscapes = false;
+        } else if (ch == '[' && dialect == SQLDialect.SQLSERVER) {
+            closingQuote = ']';
+            backslashEscapes = false;
+        } else if (ch == '$' && dialect == SQLDialect.POSTGRESQL) {
+            String tag = dollarTagAt(line, index);
+            if (tag != null) {
+                dollarTag = tag;
+                buf.append(tag);
+                return index + tag.length() - 1;
+            }
+        }
+
+        buf.append(ch);
+        return index;
+    }
+
+    /**
+     * Handle a line holding a script command rather than SQL text (e.g.: MySQL's 'DELIMITER //').
+     *
+     * @param line Trimmed line.
+     * @return {@code true} if the line is a command.
+     */
+    private boolean isCommand(String line) {
+        switch (dialect) {
+            case MYSQL:
+                Matcher matcher = DELIMITER_COMMAND.matcher(line);
+                if (buf.length() == 0 && matcher.matches()) {
+                    delimiter = matcher.group(1);
+                    return true;
+                }
+                return false;
+            case SQLSERVER:
+                if (BATCH_SEPARATOR.matcher(line).matches()) {
+                    flush();
+                    return true;
+                }
+                return false;
+            case ORACLE:
+                if ("/".equals(line)) {
+                    flush();
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return {@code true} if a line comment starts at the given offset.
+     */
+    private boolean isLineComment(String line, int index) {
+        char ch = line.charAt(index);
+        return (ch == '-' && index + 1 < line.length() && line.charAt(index + 1) == '-') ||
+                (ch == '#' && dialect == SQLDialect.MYSQL);
+    }
+
+    /**
+     * @return {@code true} if the current statement is an Oracle PL/SQL block (terminated by '/' only).
+     */
+    private boolean isPlsqlBlock() {
+        if (dialect != SQLDialect.ORACLE) {
+            return false;
+        }
+        if (plsqlBlock == null) {
+            plsqlBlock = PLSQL_BLOCK.matcher(buf).matches();
+        }
+        return plsqlBlock;
+    }
+
+    /**
+     * @return {@code true} if the quote at the given offset opens a PostgreSQL escape string (E'...').
+     */
+    private static boolean isEscapeStringPrefix(String line, int quoteIndex) {
+        if (quoteIndex < 1 || Character.toUpperCase(line.charAt(quoteIndex - 1)) != 'E') {
+            return false;
+        }
+        return quoteIndex < 2 || !isIdentifierPart(line.charAt(quoteIndex - 2));
+    }
+
+    /**
+     * @return Dollar-quote tag (e.g.: '$$' or '$body$') starting at the given offset, or {@code null} if the '$' does
+     * not open a dollar-quoted block (e.g.: a positional parameter such as '$1').
+     */
+    private static String dollarTagAt(String line, int index) {
+        if (index > 0 && isIdentifierPart(line.charAt(index - 1))) {
+            return null;
+        }
+
+        int end = index + 1;
+        while (end < line.length() && isIdentifierPart(line.charAt(end)) && line.charAt(end) != '$') {
+            end++;
+        }
+        if (end >= line.length() || line.charAt(end) != '$' ||
+                (end > index + 1 && Character.isDigit(line.charAt(index + 1)))) {
+            return null;
+        }
+        return line.substring(index, end + 1);
+    }
+
+    private static boolean isIdentifierPart(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$';
+    }
+
+    /**
+     * Append comment text. Comments preceding a statement are dropped.
+     */
+    private void append(CharSequence text) {
+        if (buf.length() > 0) {
+            buf.append(text);
+        }
+    }
+
+    private void append(char ch) {
+        if (buf.length() > 0) {
+            buf.append(ch);
+        }
+    }
+
+    /**
+     * Complete the current statement (if any) and move it to the pending queue.
+     */
+    private void flush() {
+        int end = buf.length();
+        while (end > 0 && Character.isWhitespace(buf.charAt(end - 1))) {
+            end--;
+        }
+        if (end > 0) {
+            pending.add(new SQLStatement(statementLineNumber, buf.substring(0, end)));
+        }
+
+        buf.setLength(0);
+        plsqlBlock = null;
+        closingQuote = NO_QUOTE;
+        inBlockComment = false;
+        dollarTag = null;
+    }
+}
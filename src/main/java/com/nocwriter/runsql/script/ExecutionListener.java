@@ -0,0 +1,32 @@
+package com.nocwriter.runsql.script;
+
+import com.nocwriter.runsql.gradle.ScriptObject;
+
+/**
+ * Receives notifications about script execution progress from {@link ScriptRunner}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public interface ExecutionListener {
+
+    /**
+     * Called after a script was executed (and committed, if not in auto-commit mode) successfully.
+     *
+     * @param scriptObject The completed script.
+     */
+    default void scriptCompleted(ScriptObject scriptObject) {
+    }
+
+    /**
+     * Called when part of a script is known to be committed before the script completes: after every intermediate
+     * commit of a script executed in chunks (see {@link ScriptRunner#commitInterval}), and in auto-commit mode, once a
+     * statement fails. All statements up to (and including) {@code lastStatement} are durable at this point.
+     *
+     * @param scriptObject   The script being executed.
+     * @param lastStatement  Last committed statement.
+     * @param statementCount Number of statements executed by the runner and committed so far.
+     */
+    default void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+    }
+}
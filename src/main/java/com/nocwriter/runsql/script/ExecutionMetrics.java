@@ -0,0 +1,283 @@
+package com.nocwriter.runsql.script;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Collects execution metrics of SQL statements: totals per script and the slowest statements overall. Memory usage
+ * is bounded -- only per-script totals and the top-N slowest statements are kept, regardless of the number of
+ * statements executed.<p>
+ * <p>
+ * Instances are thread-safe, so a single collector can be shared by scripts running in parallel.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ExecutionMetrics {
+
+    /**
+     * Supported report file formats.
+     */
+    public enum ReportFormat {
+        JSON, CSV
+    }
+
+    /**
+     * Number of slowest statements to keep.
+     */
+    private final int slowestStatementsCount;
+
+    /**
+     * Slowest statements seen so far (min-heap, so the fastest of them is evicted first).
+     */
+    private final PriorityQueue<StatementMetrics> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(metrics -> metrics.elapsedNanos));
+
+    /**
+     * Totals per script, in order of first execution.
+     */
+    private final Map<String, ScriptTotals> scripts = new LinkedHashMap<>();
+
+    /**
+     * Class constructor.
+     *
+     * @param slowestStatementsCount Number of slowest statements to keep.
+     */
+    public ExecutionMetrics(int slowestStatementsCount) {
+        this.slowestStatementsCount = slowestStatementsCount;
+    }
+
+    /**
+     * Record the execution of a statement.
+     *
+     * @param metrics Statement metrics.
+     */
+    public synchronized void record(StatementMetrics metrics) {
+        scripts.computeIfAbsent(metrics.scriptName, ScriptTotals::new).add(metrics);
+
+        if (slowestStatementsCount > 0) {
+            slowest.add(metrics);
+            if (slowest.size() > slowestStatementsCount) {
+                slowest.poll();
+            }
+        }
+    }
+
+    /**
+     * @return Slowest statements, slowest first.
+     */
+    public synchronized List<StatementMetrics> getSlowestStatements() {
+        List<StatementMetrics> list = new ArrayList<>(slowest);
+        list.sort(Comparator.comparingLong((StatementMetrics metrics) -> metrics.elapsedNanos).reversed());
+        return list;
+    }
+
+    /**
+     * @return Totals per script, in order of first execution.
+     */
+    public synchronized Collection<ScriptTotals> getScriptTotals() {
+        return new ArrayList<>(scripts.values());
+    }
+
+    /**
+     * Generate a human-readable summary.
+     *
+     * @return Multi-line summary of execution metrics.
+     */
+    public String summary() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("SQL execution summary:\n");
+        for (ScriptTotals totals : getScriptTotals()) {
+            buf.append(String.format(Locale.ROOT, "\t%s: %d statement(s), %.3f sec, %d row(s) updated, %d row(s) " +
+                            "returned.%n",
+                    totals.scriptName,
+                    totals.statements,
+                    totals.elapsedNanos / 1e9,
+                    totals.updateCount,
+                    totals.rowCount));
+        }
+
+        List<StatementMetrics> slowestStatements = getSlowestStatements();
+        if (!slowestStatements.isEmpty()) {
+            buf.append("Slowest statements:\n");
+            for (StatementMetrics metrics : slowestStatements) {
+                buf.append(String.format(Locale.ROOT, "\t%.3f sec -- %s, line %d: %s%n",
+                        metrics.elapsedNanos / 1e9,
+                        metrics.scriptName,
+                        metrics.lineNumber,
+                        singleLine(metrics.sql)));
+            }
+        }
+
+        return buf.toString();
+    }
+
+    /**
+     * Write a machine-readable report file.
+     *
+     * @param file   Target file. Parent directories are created as needed.
+     * @param format Report format.
+     * @throws IOException If the report could not be written.
+     */
+    public void writeReport(File file, ReportFormat format) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            if (format == ReportFormat.JSON) {
+                writeJson(out);
+            } else {
+                writeCsv(out);
+            }
+        }
+    }
+
+    private void writeJson(PrintWriter out) {
+        out.println("{");
+        out.println("  \"scripts\": [");
+        List<ScriptTotals> totals = new ArrayList<>(getScriptTotals());
+        for (int index = 0; index < totals.size(); index++) {
+            ScriptTotals script = totals.get(index);
+            out.printf(Locale.ROOT, "    {\"script\": %s, \"statements\": %d, \"elapsedMillis\": %.3f, " +
+                            "\"updateCount\": %d, \"rowCount\": %d}%s%n",
+                    jsonString(script.scriptName),
+                    script.statements,
+                    script.elapsedNanos / 1e6,
+                    script.updateCount,
+                    script.rowCount,
+                    index + 1 < totals.size() ? "," : "");
+        }
+        out.println("  ],");
+        out.println("  \"slowestStatements\": [");
+        List<StatementMetrics> slowestStatements = getSlowestStatements();
+        for (int index = 0; index < slowestStatements.size(); index++) {
+            StatementMetrics metrics = slowestStatements.get(index);
+            out.printf(Locale.ROOT, "    {\"script\": %s, \"line\": %d, \"elapsedMillis\": %.3f, " +
+                            "\"updateCount\": %d, \"rowCount\": %d, \"sql\": %s}%s%n",
+                    jsonString(metrics.scriptName),
+                    metrics.lineNumber,
+                    metrics.elapsedNanos / 1e6,
+                    metrics.updateCount,
+                    metrics.rowCount,
+                    jsonString(metrics.sql),
+                    index + 1 < slowestStatements.size() ? "," : "");
+        }
+        out.println("  ]");
+        out.println("}");
+    }
+
+    private void writeCsv(PrintWriter out) {
+        out.println("type,script,line,statements,elapsedMillis,updateCount,rowCount,sql");
+        for (ScriptTotals script : getScriptTotals()) {
+            out.printf(Locale.ROOT, "script,%s,,%d,%.3f,%d,%d,%n",
+                    csvString(script.scriptName),
+                    script.statements,
+                    script.elapsedNanos / 1e6,
+                    script.updateCount,
+                    script.rowCount);
+        }
+        for (StatementMetrics metrics : getSlowestStatements()) {
+            out.printf(Locale.ROOT, "statement,%s,%d,1,%.3f,%d,%d,%s%n",
+                    csvString(metrics.scriptName),
+                    metrics.lineNumber,
+                    metrics.elapsedNanos / 1e6,
+                    metrics.updateCount,
+                    metrics.rowCount,
+                    csvString(metrics.sql));
+        }
+    }
+
+    private static String singleLine(String sql) {
+        return sql.replaceAll("\\s+", " ");
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder buf = new StringBuilder(value.length() + 2).append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char ch = value.charAt(index);
+            switch (ch) {
+                case '"':
+                    buf.append("\\\"");
+                    break;
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                default:
+                    if (ch < ' ') {
+                        buf.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        buf.append(ch);
+                    }
+            }
+        }
+        return buf.append('"').toString();
+    }
+
+    private static String csvString(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Accumulated metrics of a single script.
+     */
+    public static class ScriptTotals {
+
+        /**
+         * Script name ('n/a' for direct scripts).
+         */
+        public final String scriptName;
+
+        /**
+         * Number of executed statements.
+         */
+        public long statements;
+
+        /**
+         * Total wall time of all statements, in nanoseconds.
+         */
+        public long elapsedNanos;
+
+        /**
+         * Total number of affected rows.
+         */
+        public long updateCount;
+
+        /**
+         * Total number of rows returned by queries.
+         */
+        public long rowCount;
+
+        ScriptTotals(String scriptName) {
+            this.scriptName = scriptName;
+        }
+
+        void add(StatementMetrics metrics) {
+            statements++;
+            elapsedNanos += metrics.elapsedNanos;
+            updateCount += Math.max(metrics.updateCount, 0);
+            rowCount += Math.max(metrics.rowCount, 0);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.nocwriter.runsql.script;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coalesces consecutive single-row INSERT statements into the same table (and columns) into a single multi-row INSERT
+ * statement, e.g.:
+ * <pre>
+ *     INSERT INTO books (id, name) VALUES (1, 'Book 1');
+ *     INSERT INTO books (id, name) VALUES (2, 'Book 2');
+ * </pre>
+ * is executed as:
+ * <pre>
+ *     INSERT INTO books (id, name) VALUES (1, 'Book 1'), (2, 'Book 2')
+ * </pre>
+ * The original statements are kept, so they can be replayed one by one if the coalesced statement fails.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+class InsertCoalescer {
+
+    /**
+     * Maximum number of rows per coalesced statement.
+     */
+    private final int maxRows;
+
+    /**
+     * Maximum length of a coalesced statement (in characters), or {@code 0} for no limit.
+     */
+    private final long maxLength;
+
+    /**
+     * Statements coalesced so far.
+     */
+    private final List<SQLStatement> statements = new ArrayList<>();
+
+    /**
+     * Coalesced statement text.
+     */
+    private final StringBuilder sql = new StringBuilder();
+
+    /**
+     * INSERT statement prefix (up to and including the VALUES keyword) shared by all coalesced statements.
+     */
+    private String prefix;
+
+    /**
+     * Class constructor.
+     *
+     * @param maxRows   Maximum number of rows per coalesced statement.
+     * @param maxLength Maximum length of a coalesced statement, or {@code 0} for no limit.
+     */
+    InsertCoalescer(int maxRows, long maxLength) {
+        this.maxRows = maxRows;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Check if a row can be added to the current coalesced statement.
+     *
+     * @param insert Parsed single-row INSERT statement.
+     * @return {@code true} if the row fits, {@code false} if the current statement must be executed first.
+     */
+    boolean fits(SingleRowInsert insert) {
+        if (statements.isEmpty()) {
+            return true;
+        }
+
+        return statements.size() < maxRows &&
+                prefix.equals(insert.prefix) &&
+                (maxLength <= 0 || sql.length() + insert.row.length() + 2 <= maxLength);
+    }
+
+    /**
+     * Add a row to the current coalesced statement. The caller must check that the row {@link #fits(SingleRowInsert)
+     * fits} first.
+     *
+     * @param statement Original statement.
+     * @param insert    Parsed statement.
+     */
+    void add(SQLStatement statement, SingleRowInsert insert) {
+        if (statements.isEmpty()) {
+            prefix = insert.prefix;
+            sql.append(insert.prefix).append(' ').append(insert.row);
+        } else {
+            sql.append(", ").append(insert.row);
+        }
+        statements.add(statement);
+    }
+
+    /**
+     * @return {@code true} if no rows were coalesced.
+     */
+    boolean isEmpty() {
+        return statements.isEmpty();
+    }
+
+    /**
+     * @return Original statements coalesced so far, in script order.
+     */
+    List<SQLStatement> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Coalesced multi-row INSERT statement.
+     */
+    String getSql() {
+        return sql.toString();
+    }
+
+    /**
+     * Start a new coalesced statement.
+     */
+    void clear() {
+        statements.clear();
+        sql.setLength(0);
+        prefix = null;
+    }
+
+    /**
+     * Parse a single-row INSERT statement of the form {@code INSERT INTO table [(columns)] VALUES (values)}.
+     * Statements holding anything past the row (e.g.: {@code ON CONFLICT} or {@code RETURNING} clauses), multiple
+     * rows or backslash escapes are not coalesced.
+     *
+     * @param sql SQL statement.
+     * @return Parsed statement, or {@code null} if the statement cannot be coalesced.
+     */
+    static SingleRowInsert parse(String sql) {
+        int length = sql.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        if (!sql.regionMatches(true, start, "INSERT", 0, 6)) {
+            return null;
+        }
+
+        // Locate the VALUES keyword outside of quotes and parentheses.
+        int depth = 0;
+        int index = start;
+        int valuesEnd = -1;
+        while (index < length && valuesEnd < 0) {
+            char ch = sql.charAt(index);
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                index = skipQuoted(sql, index);
+                if (index < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')') {
+                depth--;
+            } else if (depth == 0 && isKeywordAt(sql, index, "VALUES")) {
+                valuesEnd = index + 6;
+            }
+            index++;
+        }
+        if (valuesEnd < 0) {
+            return null;
+        }
+
+        // The row itself: a single parenthesized list, followed by nothing but an optional ';'.
+        int rowStart = valuesEnd;
+        while (rowStart < length && Character.isWhitespace(sql.charAt(rowStart))) {
+            rowStart++;
+        }
+        if (rowStart == length || sql.charAt(rowStart) != '(') {
+            return null;
+        }
+
+        depth = 0;
+        index = rowStart;
+        int rowEnd = -1;
+        while (index < length && rowEnd < 0) {
+            char ch = sql.charAt(index);
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                index = skipQuoted(sql, index);
+                if (index < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')' && --depth == 0) {
+                rowEnd = index + 1;
+            }
+            index++;
+        }
+        if (rowEnd < 0) {
+            return null;
+        }
+
+        for (int rest = rowEnd; rest < length; rest++) {
+            char ch = sql.charAt(rest);
+            if (ch != ';' && !Character.isWhitespace(ch)) {
+                return null;
+            }
+        }
+
+        return new SingleRowInsert(sql.substring(start, valuesEnd), sql.substring(rowStart, rowEnd));
+    }
+
+    /**
+     * Skip a quoted string or identifier, where the quote character is escaped by doubling it.
+     *
+     * @return Offset just past the closing quote, or {@code -1} if the quoted block is unterminated or holds a
+     * backslash (which some databases treat as an escape character).
+     */
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        int index = start + 1;
+        while (index < sql.length()) {
+            char ch = sql.charAt(index);
+            if (ch == '\\') {
+                return -1;
+            }
+            if (ch == quote) {
+                if (index + 1 < sql.length() && sql.charAt(index + 1) == quote) {
+                    index += 2;
+                    continue;
+                }
+                return index + 1;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Case-insensitive check whether a keyword appears at a given offset, delimited by non-identifier characters.
+     */
+    private static boolean isKeywordAt(String sql, int offset, String keyword) {
+        int end = offset + keyword.length();
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length()) &&
+                (offset == 0 || !isIdentifierChar(sql.charAt(offset - 1))) &&
+                (end == sql.length() || !isIdentifierChar(sql.charAt(end)));
+    }
+
+    private static boolean isIdentifierChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_';
+    }
+
+    /**
+     * A parsed single-row INSERT statement.
+     */
+    static class SingleRowInsert {
+
+        /**
+         * Statement text up to and including the VALUES keyword.
+         */
+        final String prefix;
+
+        /**
+         * Parenthesized row values.
+         */
+        final String row;
+
+        SingleRowInsert(String prefix, String row) {
+            this.prefix = prefix;
+            this.row = row;
+        }
+    }
+}
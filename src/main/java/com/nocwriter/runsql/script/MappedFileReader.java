@@ -0,0 +1,156 @@
+package com.nocwriter.runsql.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file via memory mapping, decoding its bytes with a given charset directly into the caller's character
+ * buffer. Unlike a buffered reader over an input stream, the file's bytes are not copied into an intermediate heap
+ * buffer, and no per-line objects are created, so reading a large script is bounded by disk throughput.<p>
+ * <p>
+ * The file is mapped in windows of bounded size, so files larger than 2GB are supported. Malformed input (bytes that
+ * are not valid in the given charset) is reported as an {@link IOException} rather than silently replaced.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class MappedFileReader extends Reader {
+
+    /**
+     * Default size of a mapped window.
+     */
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * File channel to map windows of.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Decoder of file bytes.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * Size of the file.
+     */
+    private final long fileSize;
+
+    /**
+     * Maximum size of a mapped window.
+     */
+    private final int windowSize;
+
+    /**
+     * Currently mapped window, or {@code null} if the reader is closed.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * File offset of the current window.
+     */
+    private long windowOffset;
+
+    /**
+     * Indicates the decoder was flushed, i.e.: the entire file was read.
+     */
+    private boolean flushed;
+
+    /**
+     * Class constructor.
+     *
+     * @param file    File to read.
+     * @param charset Charset to decode the file with.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    public MappedFileReader(Path file, Charset charset) throws IOException {
+        this(file, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param file       File to read.
+     * @param charset    Charset to decode the file with.
+     * @param windowSize Maximum size of a mapped window.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    MappedFileReader(Path file, Charset charset, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.windowSize = windowSize;
+
+        try {
+            this.fileSize = channel.size();
+            map(0);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (window == null) {
+            throw new IOException("Reader is closed.");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (flushed) {
+            return -1;
+        }
+
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (out.position() == off) {
+            boolean lastWindow = windowOffset + window.limit() == fileSize;
+            CoderResult result = decoder.decode(window, out, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow()) {
+                break;
+            }
+
+            if (!lastWindow) {
+                // Continue from the first byte not decoded yet (which may be a partial multibyte sequence).
+                map(windowOffset + window.position());
+                continue;
+            }
+
+            if (decoder.flush(out).isUnderflow()) {
+                flushed = true;
+            }
+            break;
+        }
+
+        int count = out.position() - off;
+        return count == 0 && flushed ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // A mapped buffer cannot be unmapped explicitly; it is released once garbage collected.
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Map the window starting at a given file offset.
+     */
+    private void map(long offset) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, fileSize - offset));
+        windowOffset = offset;
+    }
+}
@@ -0,0 +1,322 @@
+package com.nocwriter.runsql.script;
+
+import com.nocwriter.runsql.gradle.ScriptDependencies;
+import com.nocwriter.runsql.gradle.ScriptObject;
+import com.nocwriter.runsql.jdbc.ConnectionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executes scripts concurrently, each on its own JDBC connection. At most {@code parallelism} scripts run at the same
+ * time. A worker obtains a connection from the {@link ConnectionProvider} for each script and releases it once the
+ * script is done, so it never holds a connection while waiting for another one (e.g.: for a connection of a pool
+ * shared with other tasks). To reuse connections across scripts, provide a pooling connection provider.<p>
+ * <p>
+ * Scripts are scheduled by their {@link ScriptObject#dependencies dependencies}: a script starts as soon as all the
+ * scripts it depends on have completed (and committed), so independent branches run side by side and total execution
+ * time approaches the longest chain of dependent scripts.<p>
+ * <p>
+ * Execution is fail-fast: once a script fails, scripts that have not started yet are skipped and running scripts stop
+ * before their next statement. Failures are reported in the order the scripts were provided (dependencies first),
+ * regardless of the order they actually failed in.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ParallelScriptRunner {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ParallelScriptRunner.class);
+
+    /**
+     * Maximum number of scripts (and connections) to run concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * Source of JDBC connections.
+     */
+    private final ConnectionProvider connectionProvider;
+
+    /**
+     * Parser for extracting statements out of scripts.
+     */
+    private final ScriptParser parser;
+
+    /**
+     * Applies execution settings (e.g.: batch size) on each newly created script runner.
+     */
+    private final Consumer<ScriptRunner> runnerConfigurer;
+
+    /**
+     * Class constructor.
+     *
+     * @param parallelism        Maximum number of scripts to run concurrently.
+     * @param connectionProvider Source of JDBC connections.
+     * @param parser             Parser for extracting statements out of scripts.
+     * @param runnerConfigurer   Applies execution settings on each newly created script runner.
+     */
+    public ParallelScriptRunner(int parallelism,
+                                ConnectionProvider connectionProvider,
+                                ScriptParser parser,
+                                Consumer<ScriptRunner> runnerConfigurer) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+        this.connectionProvider = connectionProvider;
+        this.parser = parser;
+        this.runnerConfigurer = runnerConfigurer;
+    }
+
+    /**
+     * Execute all scripts, blocking until they are either all done or execution was aborted due to a failure.
+     *
+     * @param scripts Scripts to execute. Failures are reported in dependency order, and in the given order otherwise.
+     * @throws ScriptRunnerException If any of the scripts failed or dependencies are cyclic.
+     */
+    public void execute(List<ScriptObject> scripts) {
+        scripts = ScriptDependencies.sort(scripts);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+
+        Map<ScriptObject, CompletableFuture<Void>> futures = new IdentityHashMap<>(scripts.size());
+        List<Throwable> failures = new ArrayList<>(scripts.size());
+        try {
+            // Scripts are sorted, so the futures of a script's dependencies are already scheduled.
+            for (ScriptObject script : scripts) {
+                failures.add(null);
+                futures.put(script, dependenciesOf(script, futures).handleAsync((ignored, dependencyFailure) -> {
+                    if (dependencyFailure != null) {
+                        throw new ExecutionAbortedException("Script " + scriptName(script) +
+                                " skipped due to a failed dependency.");
+                    }
+
+                    try {
+                        runScript(script, aborted);
+                    } catch (Exception ex) {
+                        // Normally set by runScript already, before the failed script's connection was released.
+                        aborted.set(true);
+                        throw new CompletionException(ex);
+                    }
+                    return null;
+                }, executor));
+            }
+
+            // Wait for all scripts and collect failures by script position, so reporting does not depend on the order
+            // in which scripts actually failed.
+            for (int index = 0; index < scripts.size(); index++) {
+                try {
+                    futures.get(scripts.get(index)).get();
+                } catch (ExecutionException ex) {
+                    failures.set(index, ex.getCause());
+                }
+            }
+        } catch (InterruptedException ex) {
+            aborted.set(true);
+            Thread.currentThread().interrupt();
+            throw new ScriptRunnerException("Interrupted while waiting for scripts to complete.", ex);
+        } finally {
+            shutdown(executor);
+        }
+
+        reportFailures(scripts, failures);
+    }
+
+    /**
+     * @return Future completing once all dependencies of a script (executed by this run) have completed.
+     */
+    private static CompletableFuture<Void> dependenciesOf(ScriptObject script,
+                                                          Map<ScriptObject, CompletableFuture<Void>> futures) {
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>(script.dependencies.size());
+        for (ScriptObject dependency : script.dependencies) {
+            CompletableFuture<Void> future = futures.get(dependency);
+            if (future != null) {
+                dependencies.add(future);
+            }
+        }
+        return CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Execute a single script on a connection obtained from the connection provider, and release the connection.
+     */
+    private void runScript(ScriptObject script, AtomicBoolean aborted) throws SQLException, IOException {
+        if (aborted.get()) {
+            logger.info("Skipping script {} due to a previous failure.", scriptName(script));
+            return;
+        }
+
+        Connection connection = connectionProvider.getConnection();
+
+        try (StatementSource statements = script.openStatements(parser)) {
+            ScriptRunner runner = new ScriptRunner(connection);
+            runnerConfigurer.accept(runner);
+            runner.executeSQL(script, new AbortableIterator(statements, aborted, script));
+        } catch (IOException | RuntimeException ex) {
+            // Fail fast: signal all other workers to stop before the connection can be reused by any of them.
+            aborted.set(true);
+            if (!rollback(connection, ex)) {
+                closeQuietly(connection);
+            }
+            throw ex;
+        } finally {
+            connectionProvider.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Roll back the open transaction (if any) of a failed script, so its partial work is neither committed by the
+     * next script nor left holding locks.
+     *
+     * @param connection Connection the script failed on.
+     * @param failure    Script failure, to attach a rollback failure to.
+     * @return {@code true} if the connection can be reused, {@code false} if it should be discarded.
+     */
+    private static boolean rollback(Connection connection, Exception failure) {
+        try {
+            if (!connection.isClosed() && !connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            return !connection.isClosed();
+        } catch (SQLException ex) {
+            failure.addSuppressed(ex);
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            logger.debug("Failed to close JDBC connection.", ex);
+        }
+    }
+
+    /**
+     * Log every failed script (in script order) and throw an exception representing the first one. Scripts that were
+     * stopped only because another script failed are not reported as failures.
+     */
+    private static void reportFailures(List<ScriptObject> scripts, List<Throwable> failures) {
+        ScriptRunnerException first = null;
+        for (int index = 0; index < scripts.size(); index++) {
+            Throwable failure = failures.get(index);
+            if (failure == null || failure instanceof ExecutionAbortedException) {
+                continue;
+            }
+
+            logger.error("Script {} failed: {}", scriptName(scripts.get(index)), failure.getMessage());
+            if (first == null) {
+                first = failure instanceof ScriptRunnerException ?
+                        (ScriptRunnerException) failure :
+                        new ScriptRunnerException("Failed to execute script " + scriptName(scripts.get(index)) + ".",
+                                failure);
+            } else {
+                first.addSuppressed(failure);
+            }
+        }
+
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Stop worker threads, waiting for running scripts to reach a statement boundary.
+     */
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.debug("Waiting for running scripts to stop.");
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Name of the script file, or 'n/a' if the script was not read from file.
+     */
+    private static String scriptName(ScriptObject script) {
+        return script.scriptFile != null ? script.scriptFile.toString() : "n/a";
+    }
+
+    /**
+     * Indicates that a script was stopped because another script failed.
+     */
+    private static class ExecutionAbortedException extends ScriptRunnerException {
+
+        ExecutionAbortedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Statements iterator that stops a script once the parallel run was aborted.
+     */
+    private static class AbortableIterator implements Iterator<SQLStatement> {
+
+        private final Iterator<SQLStatement> delegate;
+
+        private final AtomicBoolean aborted;
+
+        private final ScriptObject script;
+
+        AbortableIterator(Iterator<SQLStatement> delegate, AtomicBoolean aborted, ScriptObject script) {
+            this.delegate = delegate;
+            this.aborted = aborted;
+            this.script = script;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (aborted.get()) {
+                throw new ExecutionAbortedException("Script " + scriptName(script) + " aborted due to a failure.");
+            }
+            return delegate.hasNext();
+        }
+
+        @Override
+        public SQLStatement next() {
+            return delegate.next();
+        }
+    }
+
+    /**
+     * Creates named daemon worker threads.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "runsql-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
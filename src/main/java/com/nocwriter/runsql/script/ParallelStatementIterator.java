@@ -0,0 +1,291 @@
+package com.nocwriter.runsql.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Extracts SQL statements from a script by parsing chunks of it in parallel, on a fork-join pool. The script is read
+ * sequentially and split into chunks at line boundaries. Since the parser does not carry quoting or comment state from
+ * one line to the next, each chunk can be parsed independently; the only state crossing a chunk boundary is a
+ * statement spanning it, which is stitched together (along with line numbers) while statements are returned in
+ * script order.<p>
+ * <p>
+ * Statements are available as soon as the first chunk is parsed, so execution overlaps parsing. The number of chunks
+ * read ahead is bounded, so memory consumption does not depend on the size of the script.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ParallelStatementIterator implements StatementSource {
+
+    /**
+     * Size of a chunk (in characters). A chunk grows beyond this size only if a single line does not fit in it.
+     */
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Source of script characters.
+     */
+    private final Reader reader;
+
+    /**
+     * Indicates if newlines should be kept on the generated SQL statements (see {@link ScriptParser#keepNewlines}).
+     */
+    private final boolean keepNewlines;
+
+    /**
+     * Pool to parse chunks on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Maximum number of chunks read ahead (being parsed or waiting to be consumed).
+     */
+    private final int maxChunksInFlight;
+
+    /**
+     * Chunks submitted for parsing, in script order.
+     */
+    private final Deque<ForkJoinTask<ParsedChunk>> chunksInFlight = new ArrayDeque<>();
+
+    /**
+     * Statements ready to be returned, in script order.
+     */
+    private final Deque<SQLStatement> ready = new ArrayDeque<>();
+
+    /**
+     * Characters read from the script but not submitted yet (following the last line break read).
+     */
+    private char[] buffer = new char[CHUNK_SIZE];
+
+    /**
+     * Number of valid characters in {@link #buffer}.
+     */
+    private int length = 0;
+
+    /**
+     * Indicates that the entire script was read.
+     */
+    private boolean endOfInput = false;
+
+    /**
+     * Number of lines in chunks consumed so far.
+     */
+    private int lineOffset = 0;
+
+    /**
+     * Statement spanning the end of the last consumed chunk, or {@code null} if that chunk ended between statements.
+     */
+    private SQLStatement openStatement;
+
+    /**
+     * Class constructor.
+     *
+     * @param reader       Source of script characters.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     * @param parallelism  Number of chunks to parse concurrently.
+     * @param pool         Pool to parse chunks on.
+     */
+    ParallelStatementIterator(Reader reader, boolean keepNewlines, int parallelism, ForkJoinPool pool) {
+        this.reader = reader;
+        this.keepNewlines = keepNewlines;
+        this.pool = pool;
+        // Read one chunk ahead per worker, so workers do not idle while the consumer drains a chunk.
+        this.maxChunksInFlight = parallelism * 2;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (ready.isEmpty() && consumeNextChunk()) {
+            // Keep consuming chunks until a statement is available or the script is exhausted.
+        }
+        return !ready.isEmpty();
+    }
+
+    @Override
+    public SQLStatement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return ready.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ForkJoinTask<ParsedChunk> chunk : chunksInFlight) {
+            chunk.cancel(false);
+        }
+        chunksInFlight.clear();
+        reader.close();
+    }
+
+    /**
+     * Wait for the next chunk to be parsed and move its statements to the ready queue.
+     *
+     * @return {@code true} if a chunk was consumed (or the last statement was completed), {@code false} if the script
+     * is exhausted.
+     */
+    private boolean consumeNextChunk() {
+        submitChunks();
+
+        ForkJoinTask<ParsedChunk> task = chunksInFlight.poll();
+        if (task == null) {
+            if (openStatement == null) {
+                return false;
+            }
+
+            // Script ended within a statement.
+            ready.add(openStatement);
+            openStatement = null;
+            return true;
+        }
+
+        ParsedChunk chunk = task.join();
+        List<SQLStatement> statements = chunk.statements;
+        int stitchedLine = 0;
+        int stitchedLineNumber = 0;
+        for (int index = 0; index < statements.size(); index++) {
+            SQLStatement statement = statements.get(index);
+            if (index == 0 && openStatement != null) {
+                // The first statement of a chunk continues a statement spanning the chunk boundary.
+                stitchedLine = statement.lineNumber;
+                stitchedLineNumber = openStatement.lineNumber;
+                statement = new SQLStatement(openStatement.lineNumber,
+                        openStatement.sql + (keepNewlines ? '\n' : ' ') + statement.sql);
+                openStatement = null;
+            } else if (stitchedLine > 0 && statement.lineNumber == stitchedLine) {
+                // The parser numbers statements following another on the same line by the line the buffered statement
+                // started on. Within the chunk, that is the continuation's first line rather than the line the
+                // stitched statement started on.
+                statement = new SQLStatement(stitchedLineNumber, statement.sql);
+            } else {
+                statement = new SQLStatement(statement.lineNumber + lineOffset, statement.sql);
+            }
+
+            if (index == statements.size() - 1 && chunk.endedWithinStatement) {
+                openStatement = statement;
+            } else {
+                ready.add(statement);
+            }
+        }
+        lineOffset += chunk.lineCount;
+        return true;
+    }
+
+    /**
+     * Read chunks and submit them for parsing, as long as the read-ahead limit allows.
+     */
+    private void submitChunks() {
+        while (chunksInFlight.size() < maxChunksInFlight && submitNextChunk()) {
+            // Keep reading ahead.
+        }
+    }
+
+    /**
+     * Fill {@link #buffer} with the next chunk, ending at a line break (unless the script ends), and submit it for
+     * parsing. Characters past the last line break are moved to a new buffer, which becomes {@link #buffer}.
+     *
+     * @return {@code true} if a chunk was submitted, {@code false} if the script is exhausted.
+     */
+    private boolean submitNextChunk() {
+        if (endOfInput && length == 0) {
+            return false;
+        }
+
+        while (true) {
+            try {
+                while (!endOfInput && length < buffer.length) {
+                    int count = reader.read(buffer, length, buffer.length - length);
+                    if (count < 0) {
+                        endOfInput = true;
+                    } else {
+                        length += count;
+                    }
+                }
+            } catch (IOException ex) {
+                throw new ScriptRunnerException("Failed to read SQL script (line: " + (lineOffset + 1) + ").", ex);
+            }
+
+            int split = length;
+            if (!endOfInput) {
+                split = lastLineBreak(buffer, length) + 1;
+            }
+
+            if (split > 0 || endOfInput) {
+                char[] chunk = buffer;
+                int chunkLength = split;
+                if (chunkLength == 0) {
+                    return false;
+                }
+                chunksInFlight.add(pool.submit(() -> parse(chunk, chunkLength)));
+
+                buffer = new char[Math.max(CHUNK_SIZE, length - split)];
+                System.arraycopy(chunk, split, buffer, 0, length - split);
+                length -= split;
+                return true;
+            }
+
+            // A single line longer than the buffer -- grow it and keep reading.
+            char[] grown = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+
+    /**
+     * @return Offset of the last line break ('\n' or '\r') in {@code chars[0..length)}, or {@code -1} if not found. A
+     * '\r' as the last character is not considered, since it may be followed by a '\n' which is not read yet.
+     */
+    private static int lastLineBreak(char[] chars, int length) {
+        for (int index = length - 1; index >= 0; index--) {
+            if (chars[index] == '\n' || (chars[index] == '\r' && index < length - 1)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parse a single chunk. Line numbers of the returned statements are relative to the chunk's first line.
+     */
+    private ParsedChunk parse(char[] chars, int length) {
+        StatementIterator iterator = new StatementIterator(chars, length, keepNewlines);
+        List<SQLStatement> statements = new ArrayList<>();
+        iterator.forEachRemaining(statements::add);
+        return new ParsedChunk(statements, iterator.getLineCount(), iterator.isEndedWithinStatement());
+    }
+
+    /**
+     * Statements parsed out of a single chunk.
+     */
+    private static class ParsedChunk {
+
+        /**
+         * Statements, with line numbers relative to the chunk.
+         */
+        final List<SQLStatement> statements;
+
+        /**
+         * Number of lines in the chunk.
+         */
+        final int lineCount;
+
+        /**
+         * Indicates the chunk ended within a statement, i.e.: its last statement continues in the next chunk.
+         */
+        final boolean endedWithinStatement;
+
+        ParsedChunk(List<SQLStatement> statements, int lineCount, boolean endedWithinStatement) {
+            this.statements = statements;
+            this.lineCount = lineCount;
+            this.endedWithinStatement = endedWithinStatement;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.nocwriter.runsql.script;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An SQL statement whose literal values were extracted into parameters. Statements differing only in their literal
+ * values (e.g.: generated INSERT statements) share the same {@link #shape}, which can be prepared once and executed
+ * with different parameters.<p>
+ * <p>
+ * Only literals that can safely be replaced with a parameter are extracted: string literals and numbers following an
+ * opening parenthesis, a comma or an operator (e.g.: {@code VALUES (1, 'a')} or {@code id = 5}). Typed literals (e.g.:
+ * {@code DATE '2020-01-01'}) are kept as part of the shape. Statements holding constructs that cannot be tokenized
+ * reliably (block comments, backslash escapes, dollar quotes or '?' characters) are not parameterized at all, nor are
+ * statements with ORDER BY or GROUP BY clauses, where numbers are column ordinals (e.g.: {@code ORDER BY 1, 2}).
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+class ParameterizedStatement {
+
+    /**
+     * Statement text, with extracted literals replaced by '?'.
+     */
+    final String shape;
+
+    /**
+     * Extracted literal values, in parameter order (string literals are unescaped).
+     */
+    final String[] values;
+
+    /**
+     * Indicates, per parameter, whether the literal is numeric ({@code true}) or a string ({@code false}).
+     */
+    final boolean[] numeric;
+
+    /**
+     * Class constructor.
+     */
+    private ParameterizedStatement(String shape, String[] values, boolean[] numeric) {
+        this.shape = shape;
+        this.values = values;
+        this.numeric = numeric;
+    }
+
+    /**
+     * Extract literals out of an SQL statement.
+     *
+     * @param sql SQL statement.
+     * @return Parameterized statement, or {@code null} if the statement holds no literals or cannot be parameterized.
+     */
+    static ParameterizedStatement parse(String sql) {
+        StringBuilder shape = new StringBuilder(sql.length());
+        List<String> values = new ArrayList<>();
+        List<Boolean> numeric = new ArrayList<>();
+
+        int length = sql.length();
+        int index = 0;
+        String previousWord = null;
+        while (index < length) {
+            char ch = sql.charAt(index);
+
+            if (ch == '?' || ch == '\\' || ch == '$' || sql.startsWith("/*", index)) {
+                return null;
+            }
+
+            if (ch == '"' || ch == '`') {
+                // Quoted identifier -- copy as is.
+                int end = sql.indexOf(ch, index + 1);
+                if (end < 0) {
+                    return null;
+                }
+                shape.append(sql, index, end + 1);
+                index = end + 1;
+                continue;
+            }
+
+            if (ch == '\'') {
+                // String literal, where a quote is escaped by doubling it.
+                StringBuilder value = new StringBuilder();
+                int end = index + 1;
+                while (true) {
+                    if (end >= length) {
+                        return null;
+                    }
+                    char literalChar = sql.charAt(end);
+                    if (literalChar == '\\') {
+                        return null;
+                    }
+                    if (literalChar == '\'') {
+                        if (end + 1 < length && sql.charAt(end + 1) == '\'') {
+                            value.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    value.append(literalChar);
+                    end++;
+                }
+
+                if (isParameterPosition(shape)) {
+                    shape.append('?');
+                    values.add(value.toString());
+                    numeric.add(false);
+                } else {
+                    shape.append(sql, index, end + 1);
+                }
+                index = end + 1;
+                continue;
+            }
+
+            if (Character.isLetter(ch) || ch == '_') {
+                // Identifier or keyword (which may contain digits) -- copy as is.
+                int end = index + 1;
+                while (end < length && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_')) {
+                    end++;
+                }
+                String word = sql.substring(index, end);
+                if ("BY".equalsIgnoreCase(word) &&
+                        ("ORDER".equalsIgnoreCase(previousWord) || "GROUP".equalsIgnoreCase(previousWord))) {
+                    return null;
+                }
+                previousWord = word;
+                shape.append(word);
+                index = end;
+                continue;
+            }
+
+            if (isNumberStart(sql, index)) {
+                // A sign directly following a parameter position belongs to the number (e.g.: 'VALUES (-1)').
+                int numberStart = index;
+                if (ch == '-' || ch == '+') {
+                    numberStart++;
+                }
+                int end = scanNumber(sql, numberStart);
+                if (isParameterPosition(shape) && (end == length || !Character.isLetter(sql.charAt(end)))) {
+                    shape.append('?');
+                    values.add(sql.substring(index, end));
+                    numeric.add(true);
+                } else {
+                    shape.append(sql, index, end);
+                }
+                index = end;
+                continue;
+            }
+
+            shape.append(ch);
+            index++;
+        }
+
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        boolean[] numericFlags = new boolean[numeric.size()];
+        for (int param = 0; param < numericFlags.length; param++) {
+            numericFlags[param] = numeric.get(param);
+        }
+        return new ParameterizedStatement(shape.toString(), values.toArray(new String[0]), numericFlags);
+    }
+
+    /**
+     * Check if a numeric literal starts at a given offset: a digit, a '.' followed by a digit, or a sign followed by
+     * either.
+     */
+    private static boolean isNumberStart(String sql, int index) {
+        char ch = sql.charAt(index);
+        if (ch == '-' || ch == '+') {
+            if (index + 1 >= sql.length() || sql.charAt(index + 1) == ch) {
+                return false;
+            }
+            index++;
+            ch = sql.charAt(index);
+        }
+
+        return Character.isDigit(ch) ||
+                (ch == '.' && index + 1 < sql.length() && Character.isDigit(sql.charAt(index + 1)));
+    }
+
+    /**
+     * Scan a numeric literal (digits, optional fraction and exponent).
+     *
+     * @return Offset just past the number.
+     */
+    private static int scanNumber(String sql, int start) {
+        int length = sql.length();
+        int end = start;
+        while (end < length && Character.isDigit(sql.charAt(end))) {
+            end++;
+        }
+        if (end < length && sql.charAt(end) == '.') {
+            end++;
+            while (end < length && Character.isDigit(sql.charAt(end))) {
+                end++;
+            }
+        }
+        if (end + 1 < length && (sql.charAt(end) == 'e' || sql.charAt(end) == 'E')) {
+            int exponent = end + 1;
+            if (exponent < length && (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < length && Character.isDigit(sql.charAt(exponent))) {
+                end = exponent;
+                while (end < length && Character.isDigit(sql.charAt(end))) {
+                    end++;
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Check if a literal may be replaced with a parameter, based on the last non-blank character preceding it.
+     */
+    private static boolean isParameterPosition(StringBuilder shape) {
+        int index = shape.length() - 1;
+        while (index >= 0 && Character.isWhitespace(shape.charAt(index))) {
+            index--;
+        }
+        if (index < 0) {
+            return false;
+        }
+
+        switch (shape.charAt(index)) {
+            case '(':
+            case ',':
+            case '=':
+            case '<':
+            case '>':
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '|':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.nocwriter.runsql.script;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Persistent cache of parsed scripts. Statements of a script are recorded while it is parsed for the first time, and
+ * read back on subsequent executions of the same script contents, skipping {@link ScriptParser} entirely.<p>
+ * <p>
+ * Entries are keyed by the script's content hash, its encoding and the parser options (see
+ * {@link #key(String, Charset, ScriptParser)}), so an entry never needs invalidation: a modified script simply maps to
+ * a new entry. Entries not used for {@value #MAX_ENTRY_AGE_DAYS} days are deleted.<p>
+ * <p>
+ * Entry format: a header ({@link #MAGIC}, {@link #FORMAT_VERSION}), followed by a record per statement (line number,
+ * length of UTF-8 encoded SQL and the encoded SQL itself), terminated by a line number of {@code -1}. Entries are
+ * written to a temporary file and moved into place only once the script was parsed to its end, so a partially
+ * parsed script is never cached.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ParseCache {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ParseCache.class);
+
+    /**
+     * Marks a parse cache entry file.
+     */
+    private static final int MAGIC = 0x52535143;
+
+    /**
+     * Version of the entry format. Part of the entry key, so entries of older formats are never read.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Number of days after which an unused entry is deleted.
+     */
+    private static final int MAX_ENTRY_AGE_DAYS = 7;
+
+    /**
+     * Extension of entry files.
+     */
+    private static final String ENTRY_EXTENSION = ".stmts";
+
+    /**
+     * Size of I/O buffers.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Directory holding cache entries.
+     */
+    private final File directory;
+
+    /**
+     * Class constructor.
+     *
+     * @param directory Directory holding cache entries (created on demand).
+     */
+    public ParseCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Generate the key of a cache entry.
+     *
+     * @param checksum Content hash of the script.
+     * @param encoding Charset the script is decoded with (the same bytes decode to different statements otherwise).
+     * @param parser   Parser the script is parsed with.
+     * @return Cache entry key.
+     */
+    public static String key(String checksum, Charset encoding, ScriptParser parser) {
+        return checksum + "-v" + FORMAT_VERSION + "-" + encoding.name() + (parser.keepNewlines ? "-n" : "-j") +
+                (parser.dialect != SQLDialect.GENERIC ? "-" + parser.dialect.getName() : "");
+    }
+
+    /**
+     * Open the statements of a script: from the cache, if an entry exists, or via the given parser otherwise (in which
+     * case the parsed statements are recorded into a new entry).
+     *
+     * @param key    Cache entry key (see {@link #key(String, Charset, ScriptParser)}).
+     * @param parser Parses the script, if it is not cached.
+     * @return Source of statements. The caller must close it.
+     */
+    public StatementSource open(String key, Supplier<StatementSource> parser) {
+        File entry = new File(directory, key + ENTRY_EXTENSION);
+        if (entry.isFile()) {
+            try {
+                CachedStatements cached = new CachedStatements(entry);
+                logger.debug("Reading parsed statements from cache: {}", entry);
+
+                // Keep the entry from expiring while it's in use.
+                if (!entry.setLastModified(System.currentTimeMillis())) {
+                    logger.debug("Failed to update modification time of parse cache entry {}", entry);
+                }
+                return cached;
+            } catch (IOException ex) {
+                logger.warn("Ignoring unreadable parse cache entry {}", entry, ex);
+            }
+        }
+
+        StatementSource statements = parser.get();
+        try {
+            Files.createDirectories(directory.toPath());
+            deleteExpiredEntries();
+            File tempFile = File.createTempFile(key, ".tmp", directory);
+            return new RecordingStatements(statements, tempFile, entry);
+        } catch (IOException ex) {
+            logger.warn("Cannot write parse cache entry {} -- statements are not cached.", entry, ex);
+            return statements;
+        }
+    }
+
+    /**
+     * Delete entries not used for {@value #MAX_ENTRY_AGE_DAYS} days, as well as temporary files left behind.
+     */
+    private void deleteExpiredEntries() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long expiry = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_ENTRY_AGE_DAYS);
+        for (File file : files) {
+            if (file.lastModified() < expiry && !file.delete()) {
+                logger.debug("Failed to delete expired parse cache entry {}", file);
+            }
+        }
+    }
+
+    /**
+     * Reads statements out of a cache entry.
+     */
+    private static class CachedStatements implements StatementSource {
+
+        private final DataInputStream in;
+
+        private final File entry;
+
+        /**
+         * Next statement to return, or {@code null} if not read yet.
+         */
+        private SQLStatement next;
+
+        /**
+         * Indicates the end-of-entry marker was read.
+         */
+        private boolean exhausted;
+
+        CachedStatements(File entry) throws IOException {
+            this.entry = entry;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath()), BUFFER_SIZE));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Not a parse cache entry.");
+                }
+            } catch (IOException ex) {
+                in.close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                try {
+                    int lineNumber = in.readInt();
+                    if (lineNumber < 0) {
+                        exhausted = true;
+                    } else {
+                        byte[] sql = new byte[in.readInt()];
+                        in.readFully(sql);
+                        next = new SQLStatement(lineNumber, new String(sql, StandardCharsets.UTF_8));
+                    }
+                } catch (EOFException ex) {
+                    throw new ScriptRunnerException("Truncated parse cache entry " + entry, ex);
+                } catch (IOException ex) {
+                    throw new ScriptRunnerException("Failed to read parse cache entry " + entry, ex);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public SQLStatement next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SQLStatement statement = next;
+            next = null;
+            return statement;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Passes statements through from a parser, recording them into a temporary file. Once the parser is exhausted, the
+     * temporary file becomes a cache entry. If the source is closed before it was exhausted (e.g.: due to a failing
+     * statement), the temporary file is discarded.
+     */
+    private static class RecordingStatements implements StatementSource {
+
+        private final StatementSource statements;
+
+        private final File tempFile;
+
+        private final File entry;
+
+        /**
+         * Output to the temporary file, or {@code null} if recording completed or failed.
+         */
+        private DataOutputStream out;
+
+        RecordingStatements(StatementSource statements, File tempFile, File entry) throws IOException {
+            this.statements = statements;
+            this.tempFile = tempFile;
+            this.entry = entry;
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), BUFFER_SIZE));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+            } catch (IOException ex) {
+                discard(ex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = statements.hasNext();
+            if (!hasNext && out != null) {
+                try {
+                    out.writeInt(-1);
+                    out.close();
+                    out = null;
+                    Files.move(tempFile.toPath(), entry.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    logger.debug("Recorded parsed statements in cache: {}", entry);
+                } catch (IOException ex) {
+                    discard(ex);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public SQLStatement next() {
+            SQLStatement statement = statements.next();
+            if (out != null) {
+                try {
+                    byte[] sql = statement.sql.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(statement.lineNumber);
+                    out.writeInt(sql.length);
+                    out.write(sql);
+                } catch (IOException ex) {
+                    discard(ex);
+                }
+            }
+            return statement;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                statements.close();
+            } finally {
+                if (out != null) {
+                    discard(null);
+                }
+            }
+        }
+
+        /**
+         * Stop recording and delete the temporary file. Caching is best effort -- failures do not affect execution.
+         */
+        private void discard(IOException cause) {
+            if (cause != null) {
+                logger.warn("Failed to write parse cache entry {} -- statements are not cached.", entry, cause);
+            }
+            try {
+                if (out != null) {
+                    out.close();
+                }
+                Files.deleteIfExists(tempFile.toPath());
+            } catch (IOException ex) {
+                logger.debug("Failed to delete temporary parse cache file {}", tempFile, ex);
+            } finally {
+                out = null;
+            }
+        }
+    }
+}
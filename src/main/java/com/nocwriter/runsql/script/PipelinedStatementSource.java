@@ -0,0 +1,128 @@
+package com.nocwriter.runsql.script;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads statements from another source on a background thread, handing them over through a bounded queue. Reading
+ * and parsing the script overlap with executing its statements, while the queue's capacity caps the number of
+ * statements held in memory: once the queue is full, the background thread waits for the executing thread to catch
+ * up.<p>
+ * <p>
+ * A failure of the background thread (e.g.: an I/O error) is reported by the executing thread, once it reaches the
+ * point of failure.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class PipelinedStatementSource implements StatementSource {
+
+    /**
+     * Marks the end of the source (either exhausted or failed).
+     */
+    private static final SQLStatement END = new SQLStatement(-1, "");
+
+    /**
+     * Source of statements, read by the background thread.
+     */
+    private final StatementSource source;
+
+    /**
+     * Statements read ahead.
+     */
+    private final BlockingQueue<SQLStatement> queue;
+
+    /**
+     * Background thread reading the source.
+     */
+    private final Thread producer;
+
+    /**
+     * Failure of the background thread, if any. Published via the queue.
+     */
+    private RuntimeException failure;
+
+    /**
+     * Next statement to return, or {@code null} if not taken from the queue yet.
+     */
+    private SQLStatement next;
+
+    /**
+     * Class constructor. Starts reading the source right away.
+     *
+     * @param source   Source of statements. Closed along with this source.
+     * @param capacity Maximum number of statements to read ahead.
+     * @param name     Name of the script (used for naming the background thread).
+     */
+    public PipelinedStatementSource(StatementSource source, int capacity, String name) {
+        this.source = source;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.producer = new Thread(this::produce, "runsql-parser-" + name);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ScriptRunnerException("Interrupted while waiting for SQL statements.", ex);
+            }
+
+            if (next == END && failure != null) {
+                throw new ScriptRunnerException(failure.getMessage(), failure);
+            }
+        }
+
+        return next != END;
+    }
+
+    @Override
+    public SQLStatement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        SQLStatement statement = next;
+        next = null;
+        return statement;
+    }
+
+    @Override
+    public void close() throws IOException {
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+    }
+
+    /**
+     * Background thread: move statements from the source to the queue, until the source is exhausted, fails or this
+     * source is closed.
+     */
+    private void produce() {
+        try {
+            while (source.hasNext()) {
+                queue.put(source.next());
+            }
+        } catch (InterruptedException ex) {
+            // Closed by the consumer -- nobody waits for the end marker.
+            return;
+        } catch (RuntimeException ex) {
+            failure = ex;
+        }
+
+        try {
+            queue.put(END);
+        } catch (InterruptedException ex) {
+            // Closed by the consumer.
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.nocwriter.runsql.script;
+
+import com.nocwriter.runsql.jdbc.ParameterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Least-recently-used cache of prepared statements, keyed by statement shape (see {@link ParameterizedStatement}).
+ * Each shape is prepared once, so the database parses and plans it once, regardless of how many statements share it.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+class PreparedStatementCache implements AutoCloseable {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    /**
+     * Maximum number of rejected shapes to remember.
+     */
+    private static final int MAX_REJECTED_SHAPES = 1024;
+
+    /**
+     * JDBC connection to prepare statements with.
+     */
+    private final Connection connection;
+
+    /**
+     * Maximum number of prepared statements to keep open.
+     */
+    private final int capacity;
+
+    /**
+     * Prepared statements by shape, in access order.
+     */
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    /**
+     * Shapes the database refused to prepare. These are executed as plain statements.
+     */
+    private final Set<String> rejectedShapes = new HashSet<>();
+
+    /**
+     * Class constructor.
+     *
+     * @param connection JDBC connection.
+     * @param capacity   Maximum number of prepared statements to keep open. Must be at least 2, so the statement used
+     *                   last (which may hold a pending batch) is never evicted.
+     */
+    PreparedStatementCache(Connection connection, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2.");
+        }
+        this.connection = connection;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Look up (or prepare) the statement matching the shape of an SQL statement and bind the statement's literal
+     * values to it.
+     *
+     * @param sql SQL statement.
+     * @return Prepared statement with bound parameters, or {@code null} if the statement should be executed as is
+     * (it has no extractable literals, its shape could not be prepared or its values could not be converted).
+     */
+    PreparedStatement bind(String sql) {
+        ParameterizedStatement parameterized = ParameterizedStatement.parse(sql);
+        if (parameterized == null || rejectedShapes.contains(parameterized.shape)) {
+            return null;
+        }
+
+        CachedStatement cached = statements.get(parameterized.shape);
+        if (cached == null) {
+            cached = prepare(parameterized.shape, parameterized.values.length);
+            if (cached == null) {
+                return null;
+            }
+        }
+
+        try {
+            for (int index = 0; index < parameterized.values.length; index++) {
+                int type = cached.types[index];
+                if (type == Types.OTHER || type == Types.NULL) {
+                    type = parameterized.numeric[index] ? Types.NUMERIC : Types.VARCHAR;
+                }
+                ParameterBinder.bind(cached.statement, index + 1, type, parameterized.values[index]);
+            }
+            return cached.statement;
+        } catch (IllegalArgumentException | SQLException ex) {
+            // The literal does not fit the parameter's type as reported by the driver; let the database interpret it.
+            logger.debug("Cannot bind literals of statement, executing it as is: {}", sql, ex);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Prepare a new shape, evicting the least recently used statement if the cache is full.
+     *
+     * @return Cached statement, or {@code null} if the database refused to prepare the shape.
+     */
+    private CachedStatement prepare(String shape, int parameterCount) {
+        PreparedStatement statement;
+        try {
+            statement = connection.prepareStatement(shape);
+        } catch (SQLException ex) {
+            logger.debug("Cannot prepare statement, executing statements of this shape as is: {}", shape, ex);
+            if (rejectedShapes.size() >= MAX_REJECTED_SHAPES) {
+                rejectedShapes.clear();
+            }
+            rejectedShapes.add(shape);
+            return null;
+        }
+
+        // Parameter types are used for converting literals. Not all drivers provide them -- in which case the
+        // literal's own type (string or number) is used.
+        int[] types = new int[parameterCount];
+        try {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            for (int index = 0; index < parameterCount; index++) {
+                types[index] = metaData.getParameterType(index + 1);
+            }
+        } catch (SQLException ex) {
+            Arrays.fill(types, Types.OTHER);
+        }
+
+        if (statements.size() >= capacity) {
+            Iterator<Map.Entry<String, CachedStatement>> eldest = statements.entrySet().iterator();
+            closeQuietly(eldest.next().getValue().statement);
+            eldest.remove();
+        }
+
+        CachedStatement cached = new CachedStatement(statement, types);
+        statements.put(shape, cached);
+        return cached;
+    }
+
+    /**
+     * Close a statement, ignoring failures.
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            logger.debug("Failed to close prepared statement.", ex);
+        }
+    }
+
+    /**
+     * A prepared statement along with its parameter types.
+     */
+    private static class CachedStatement {
+
+        final PreparedStatement statement;
+
+        final int[] types;
+
+        CachedStatement(PreparedStatement statement, int[] types) {
+            this.statement = statement;
+            this.types = types;
+        }
+    }
+}
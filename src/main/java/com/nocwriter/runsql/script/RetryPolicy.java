@@ -0,0 +1,156 @@
+package com.nocwriter.runsql.script;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy for retrying statements that failed due to a transient condition (e.g.: a deadlock victim or a serialization
+ * failure), which would likely succeed if executed again. A failure is considered transient if any exception in its
+ * cause chain (including chained {@link SQLException#getNextException() next exceptions}) either:
+ * <ul>
+ *     <li>Has an SQLState starting with one of {@link #sqlStates} (e.g.: '40001' matches exactly, '40' matches the
+ *     entire 'transaction rollback' class).</li>
+ *     <li>Is an instance of one of {@link #exceptionTypes}, by fully qualified or simple class name (names are used so
+ *     driver-specific exceptions can be listed without loading driver classes).</li>
+ * </ul>
+ * Retries are delayed by an exponentially growing backoff: {@link #initialBackoffMillis}, doubled on each retry and
+ * capped by {@link #maxBackoffMillis}. The actual delay is randomized between half and all of it, so concurrent
+ * workers that failed together do not collide again.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class RetryPolicy {
+
+    /**
+     * Default transient SQLStates: serialization failure / deadlock (SQL standard, used by most databases) and
+     * PostgreSQL's deadlock.
+     */
+    public static final List<String> DEFAULT_SQL_STATES = Arrays.asList("40001", "40P01");
+
+    /**
+     * Default transient exception types: JDBC's transient exceptions (transaction rollback, timeout and transient
+     * connection failures).
+     */
+    public static final List<String> DEFAULT_EXCEPTION_TYPES = Arrays.asList("java.sql.SQLTransientException");
+
+    /**
+     * Maximum number of retries of a failed statement (or transaction chunk).
+     */
+    public int maxRetries;
+
+    /**
+     * Backoff before the first retry, in milliseconds.
+     */
+    public long initialBackoffMillis = 100;
+
+    /**
+     * Upper bound of the backoff between retries, in milliseconds.
+     */
+    public long maxBackoffMillis = 10_000;
+
+    /**
+     * SQLState prefixes of transient failures.
+     */
+    public List<String> sqlStates = new ArrayList<>(DEFAULT_SQL_STATES);
+
+    /**
+     * Class names (fully qualified or simple) of transient exceptions, matched against the exception's class and
+     * superclasses.
+     */
+    public List<String> exceptionTypes = new ArrayList<>(DEFAULT_EXCEPTION_TYPES);
+
+    /**
+     * Class constructor.
+     *
+     * @param maxRetries Maximum number of retries of a failed statement (or transaction chunk).
+     */
+    public RetryPolicy(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Check if a failure should be retried.
+     *
+     * @param failure Failure.
+     * @param retry   Number of the retry about to be made (starting with 1).
+     * @return {@code true} if retries are not exhausted yet and the failure is transient.
+     */
+    public boolean shouldRetry(Throwable failure, int retry) {
+        return retry <= maxRetries && isTransient(failure);
+    }
+
+    /**
+     * Check if a failure is transient, i.e.: any exception in its cause chain matches the policy.
+     *
+     * @param failure Failure.
+     * @return {@code true} if the failure is transient.
+     */
+    public boolean isTransient(Throwable failure) {
+        Map<Throwable, Boolean> visited = new IdentityHashMap<>();
+        List<Throwable> pending = new ArrayList<>();
+        pending.add(failure);
+        while (!pending.isEmpty()) {
+            Throwable current = pending.remove(pending.size() - 1);
+            if (current == null || visited.put(current, Boolean.TRUE) != null) {
+                continue;
+            }
+
+            if (matches(current)) {
+                return true;
+            }
+
+            pending.add(current.getCause());
+            if (current instanceof SQLException) {
+                pending.add(((SQLException) current).getNextException());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Calculate the delay before a retry.
+     *
+     * @param retry Number of the retry (starting with 1).
+     * @return Delay, in milliseconds.
+     */
+    public long backoffMillis(int retry) {
+        long backoff = initialBackoffMillis;
+        for (int index = 1; index < retry && backoff < maxBackoffMillis; index++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, maxBackoffMillis);
+
+        return backoff <= 1 ? backoff : backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Check if a single exception matches the policy (by SQLState or by type).
+     */
+    private boolean matches(Throwable ex) {
+        if (ex instanceof SQLException) {
+            String sqlState = ((SQLException) ex).getSQLState();
+            if (sqlState != null) {
+                for (String prefix : sqlStates) {
+                    if (sqlState.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (Class<?> clazz = ex.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            if (exceptionTypes.contains(clazz.getName()) || exceptionTypes.contains(clazz.getSimpleName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package com.nocwriter.runsql.script;
+
+import java.util.Locale;
+
+/**
+ * SQL dialects, defining how a script is split into statements. {@link #GENERIC} is the plugin's original
+ * line-oriented parser ({@link StatementIterator}); the other dialects are parsed by {@link DialectStatementIterator},
+ * which also understands:
+ * <ul>
+ *     <li>Block comments ('/* ... *&#47;') and quoted text spanning multiple lines (all dialects).</li>
+ *     <li>Dollar-quoted bodies ('$$ ... $$', '$body$ ... $body$') and E'...' escape strings ({@link #POSTGRESQL}).</li>
+ *     <li>'DELIMITER' commands, backslash escapes, back-quoted identifiers and '#' comments ({@link #MYSQL}).</li>
+ *     <li>'GO' batch separators and bracket-quoted identifiers ({@link #SQLSERVER}).</li>
+ *     <li>PL/SQL blocks terminated by a line holding a single '/' ({@link #ORACLE}).</li>
+ * </ul>
+ * The dialect is detected by the JDBC URL sub-protocol (e.g.: 'postgresql' in 'jdbc:postgresql://...'), except for
+ * {@link #SQLSERVER}, which must be selected explicitly.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public enum SQLDialect {
+
+    /**
+     * Quoted text and comments are contained within a line; statements are terminated by ';'.
+     */
+    GENERIC,
+
+    /**
+     * PostgreSQL.
+     */
+    POSTGRESQL("postgres", "postgresql", "pgsql"),
+
+    /**
+     * MySQL and MariaDB.
+     */
+    MYSQL("mysql", "mariadb"),
+
+    /**
+     * Microsoft SQL Server (and Sybase): statements are executed in batches separated by 'GO' lines. Not detected by
+     * the JDBC URL, since scripts without 'GO' lines, previously split by ';', would be executed as a single batch.
+     */
+    SQLSERVER,
+
+    /**
+     * Oracle: SQL statements are terminated by ';' (which is not sent to the database), PL/SQL blocks by '/'.
+     */
+    ORACLE("oracle");
+
+    /**
+     * JDBC URL sub-protocols the dialect is detected by.
+     */
+    private final String[] subProtocols;
+
+    SQLDialect(String... subProtocols) {
+        this.subProtocols = subProtocols;
+    }
+
+    /**
+     * Detect the dialect of a JDBC URL sub-protocol.
+     *
+     * @param subProtocol JDBC URL sub-protocol (e.g.: 'mysql').
+     * @return Matching dialect, or {@link #GENERIC} if the sub-protocol is not specifically supported.
+     */
+    public static SQLDialect fromSubProtocol(String subProtocol) {
+        for (SQLDialect dialect : values()) {
+            for (String candidate : dialect.subProtocols) {
+                if (candidate.equalsIgnoreCase(subProtocol)) {
+                    return dialect;
+                }
+            }
+        }
+        return GENERIC;
+    }
+
+    /**
+     * Look up a dialect by name (case insensitive).
+     *
+     * @param name Dialect name (e.g.: 'postgresql').
+     * @return Dialect, or {@code null} if there is no such dialect.
+     */
+    public static SQLDialect fromName(String name) {
+        for (SQLDialect dialect : values()) {
+            if (dialect.name().equalsIgnoreCase(name.trim())) {
+                return dialect;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Dialect name, in lower case (as used in task configuration).
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return {@code true} if parsing state (e.g.: an open block comment) may cross line boundaries, in which case a
+     * script cannot be split at arbitrary lines and parsed in parallel.
+     */
+    public boolean hasMultiLineState() {
+        return this != GENERIC;
+    }
+}
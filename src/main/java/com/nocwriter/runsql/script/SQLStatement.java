@@ -32,6 +32,20 @@ public class SQLStatement {
         this.sql = sql;
     }
 
+    /**
+     * @return Script's line number the statement starts at.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return SQL statement.
+     */
+    public String getSql() {
+        return sql;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,8 +1,13 @@
 package com.nocwriter.runsql.script;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Parses an SQL script and extract SQL statements. Lines are that are either empty or comment lines are discarded.
@@ -12,6 +17,11 @@ import java.util.List;
  */
 public class ScriptParser {
 
+    /**
+     * Class logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ScriptParser.class);
+
     /**
      * Indicates if newlines should be kept on the generated SQL statements or not. When a newline is kept, a statement
      * such as:
@@ -32,6 +42,24 @@ public class ScriptParser {
      */
     public boolean keepNewlines = true;
 
+    /**
+     * Number of chunks of a script to parse concurrently when parsing large scripts in parallel (see
+     * {@link #iterateScriptInParallel(Reader)}). A value of {@code 1} parses scripts sequentially.
+     */
+    public int parallelism = 1;
+
+    /**
+     * Number of statements of a script file to read and parse ahead of execution, on a background thread (see
+     * {@link PipelinedStatementSource}). A value of {@code 0} parses statements on the executing thread, just before
+     * they are executed.
+     */
+    public int parseAhead = 0;
+
+    /**
+     * Dialect to split scripts into statements by (see {@link SQLDialect}).
+     */
+    public SQLDialect dialect = SQLDialect.GENERIC;
+
     /**
      * Class constructor.
      */
@@ -59,76 +87,59 @@ public class ScriptParser {
      * @return SQL statements.
      */
     public List<SQLStatement> parseScript(List<String> sqlScript) {
-        int lineNumber = 0;
-        int statementLineNumber = 0;
-        StringBuilder buf = new StringBuilder();
         List<SQLStatement> statements = new LinkedList<>();
+        iterateScript(sqlScript).forEachRemaining(statements::add);
+        return statements;
+    }
 
-        // Iterate over the lines of the script.
-        for (String line : sqlScript) {
-            // Current line number.
-            lineNumber++;
-
-            // Skip empty or comment lines.
-            if (line.trim().isEmpty() || line.trim().startsWith("--")) {
-                continue;
-            }
-
-            // If we've reached this point, we are currently processing an SQL statement we want to extract.
-            // If the internal buffer is empty, it means that this is the beginning of the statement.
-            // Otherwise, it's a part of the previous line.
-            if (buf.length() == 0) {
-                statementLineNumber = lineNumber;
-            } else {
-                buf.append(keepNewlines ? "\n" : " ");
-            }
-
-            // Iterate over the current line's character by character.
-            // We handle quoting blocks limited by either ' or ".
-            char[] characters = line.toCharArray();
-            Character quotingChar = null;
-            for (int index = 0; index < characters.length; index++) {
-                if (quotingChar == null &&
-                        (index + 1 < characters.length) &&
-                        characters[index] == '-' &&
-                        characters[index + 1] == '-') {
-                    break;
-                }
-
-                buf.append(characters[index]);
-
-                // Check if we need to start a new quoted block or end one.
-                if (characters[index] == '\'' || characters[index] == '"') {
-                    if (quotingChar == null) {
-                        quotingChar = characters[index];
-                    } else if (quotingChar == characters[index]) {
-                        quotingChar = null;
-                    }
-                }
-
-                // If encounter "end-of-statement" separator (;) which is not within a quoted block (e.g.: inside '...'
-                // or "..."), we need to flush current statement and start processing a new statement.
-                if (quotingChar == null && characters[index] == ';') {
-                    statements.add(new SQLStatement(statementLineNumber, buf.toString()));
-
-                    buf.setLength(0);
-
-                    // If we completed flushing the last SQL statement, skip remaining spaces till the end of the line.
-                    while (index + 1 < characters.length && Character.isWhitespace(characters[index + 1])) {
-                        index++;
-                    }
-                }
-
-            }
+    /**
+     * Lazily parses an in-memory SQL script. Statements are extracted as the iterator advances.
+     *
+     * @param sqlScript SQL script to parse.
+     * @return Iterator over the script's SQL statements.
+     */
+    public StatementSource iterateScript(List<String> sqlScript) {
+        if (dialect != SQLDialect.GENERIC) {
+            return new DialectStatementIterator(sqlScript.iterator(), keepNewlines, dialect);
         }
+        return new StatementIterator(sqlScript.iterator(), keepNewlines);
+    }
 
-        // If there's anything left in our internal buffer, we treat it as a statement.
-        if (buf.length() > 0) {
-            statements.add(new SQLStatement(statementLineNumber, buf.toString()));
+    /**
+     * Lazily parses an SQL script read from a reader. Characters are read (in blocks, into an internal buffer) only
+     * when the next statement is requested, so memory consumption does not depend on the size of the script. The
+     * reader does not need to be buffered. Closing the returned iterator closes the reader.
+     *
+     * @param reader Reader to read the script from.
+     * @return Iterator over the script's SQL statements.
+     */
+    public StatementSource iterateScript(Reader reader) {
+        if (dialect != SQLDialect.GENERIC) {
+            return new DialectStatementIterator(reader, keepNewlines, dialect);
         }
-
-        return statements;
+        return new StatementIterator(reader, keepNewlines);
     }
 
+    /**
+     * Lazily parses an SQL script read from a reader, splitting it into chunks that are parsed concurrently on the
+     * common fork-join pool (see {@link ParallelStatementIterator}). Statements are returned in script order, with the
+     * same contents and line numbers as {@link #iterateScript(Reader)} returns. Falls back to sequential parsing if
+     * {@link #parallelism} is {@code 1}, or if the {@link #dialect} carries parsing state across lines (so chunks
+     * cannot be parsed independently). Closing the returned iterator closes the reader.
+     *
+     * @param reader Reader to read the script from.
+     * @return Iterator over the script's SQL statements.
+     */
+    public StatementSource iterateScriptInParallel(Reader reader) {
+        if (parallelism <= 1) {
+            return iterateScript(reader);
+        }
+        if (dialect.hasMultiLineState()) {
+            logger.info("Parsing script sequentially: parallel parsing is not supported by the '{}' dialect (set " +
+                    "dialect = \"generic\" to parse in parallel).", dialect.getName());
+            return iterateScript(reader);
+        }
+        return new ParallelStatementIterator(reader, keepNewlines, parallelism, ForkJoinPool.commonPool());
+    }
 
 }
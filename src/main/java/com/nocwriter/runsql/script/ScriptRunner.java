@@ -4,9 +4,16 @@ import com.nocwriter.runsql.gradle.ScriptObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Executes SQL scripts.
@@ -43,6 +50,86 @@ public class ScriptRunner {
      */
     public boolean keepNewlines = true;
 
+    /**
+     * Maximum number of consecutive DML statements (INSERT, UPDATE, DELETE and MERGE) to send to the database as a
+     * single JDBC batch. A value of {@code 0} or {@code 1} disables batching, i.e.: every statement is executed on
+     * its own.
+     */
+    public int batchSize = 0;
+
+    /**
+     * If {@code true}, INSERT statements differing only in their literal values are executed via a shared
+     * {@link PreparedStatement}, with the literals bound as parameters, so the database parses and plans each
+     * statement shape once. Combined with {@link #batchSize}, consecutive statements of the same shape are sent as a
+     * single JDBC batch. Statements that cannot be parameterized reliably are executed as is.
+     */
+    public boolean prepareStatements = false;
+
+    /**
+     * Maximum number of consecutive single-row INSERT statements into the same table (and columns) to coalesce into a
+     * single multi-row {@code INSERT ... VALUES (...), (...)} statement. An alternative to JDBC batching for drivers
+     * that send batched statements one by one. If a coalesced statement fails, its rows are replayed one by one, so
+     * the error points at the failing line. Coalesced statements take precedence over {@link #prepareStatements} and
+     * {@link #batchSize}. A value of {@code 0} or {@code 1} disables coalescing.
+     */
+    public int coalesceInserts = 0;
+
+    /**
+     * Maximum size of a coalesced INSERT statement (measured in characters), see {@link #coalesceInserts}. A value of
+     * {@code 0} sets no limit.
+     */
+    public long coalesceInsertsBytes = 1024 * 1024;
+
+    /**
+     * When not in {@link #autoCommit auto-commit} mode, commit after every given number of statements instead of once
+     * at the end of the script. Keeps transactions (and the database undo/redo logs and locks they hold) bounded for
+     * very large scripts. A value of {@code 0} disables statement-based chunking.
+     */
+    public int commitInterval = 0;
+
+    /**
+     * When not in {@link #autoCommit auto-commit} mode, commit once the SQL text executed since the last commit reaches
+     * the given size (measured in characters). A value of {@code 0} disables size-based chunking.
+     */
+    public long commitIntervalBytes = 0;
+
+    /**
+     * When not in {@link #autoCommit auto-commit} mode, commit once the given number of seconds has passed since the
+     * last commit. A value of {@code 0} disables time-based chunking.
+     */
+    public int commitIntervalSeconds = 0;
+
+    /**
+     * When not in {@link #autoCommit auto-commit} mode, whether to commit once a script completes. If {@code false},
+     * the last transaction is left open for the caller to commit or roll back (e.g.: to record the script's outcome in
+     * the same transaction as its statements).
+     */
+    public boolean commitOnCompletion = true;
+
+    /**
+     * Collector of per-statement execution metrics (wall time, update count and row count). If {@code null}, no
+     * metrics are recorded.
+     */
+    public ExecutionMetrics metrics;
+
+    /**
+     * Listener to notify about execution progress. If {@code null}, no notifications are sent.
+     */
+    public ExecutionListener listener;
+
+    /**
+     * Policy for retrying statements that failed on a transient error (e.g.: a deadlock victim). In
+     * {@link #autoCommit auto-commit} mode, a failed statement is retried on its own (batched statements are not
+     * retried, as drivers differ in what part of a failed batch was applied). Otherwise, the transaction is rolled back
+     * and all statements executed since the last commit are replayed. If {@code null}, failures are not retried.
+     */
+    public RetryPolicy retryPolicy;
+
+    /**
+     * Maximum number of statement shapes to keep prepared (see {@link #prepareStatements}).
+     */
+    private static final int PREPARED_STATEMENTS_CACHE_SIZE = 64;
+
     /**
      * JDBC connection to execute scripts with.
      */
@@ -53,6 +140,17 @@ public class ScriptRunner {
      */
     private static final Logger logger = LoggerFactory.getLogger(ScriptRunner.class);
 
+    /**
+     * In auto-commit mode, statements are durable once executed. This tracks the last statement executed so far (and
+     * the number of statements executed), so progress can be reported if a later statement fails.
+     */
+    private SQLStatement lastCommitted;
+
+    /**
+     * Number of statements executed so far in auto-commit mode (see {@link #lastCommitted}).
+     */
+    private long committedCount;
+
     /**
      * Class constructor.
      *
@@ -71,26 +169,525 @@ public class ScriptRunner {
      * @param scriptObject Script object containing SQL statements.
      */
     public void executeSQL(ScriptObject scriptObject) {
+        executeSQL(scriptObject, scriptObject.statements.iterator());
+    }
+
+    /**
+     * Execute SQL statements as they are provided by an iterator. Allows executing a script while it is being parsed,
+     * without holding all of its statements in memory.
+     *
+     * @param scriptObject Script object the statements belong to.
+     * @param statements   Statements to execute.
+     */
+    public void executeSQL(ScriptObject scriptObject, Iterator<SQLStatement> statements) {
         try {
             connection.setAutoCommit(autoCommit);
+            if (autoCommit || retryPolicy == null) {
+                executeStatements(scriptObject, statements, null);
+            } else {
+                executeWithReplay(scriptObject, statements);
+            }
+        } catch (SQLException ex) {
+            throw new ScriptRunnerException("Failed to execute script.", ex);
+        }
+
+        if (listener != null) {
+            listener.scriptCompleted(scriptObject);
+        }
+    }
+
+    /**
+     * Execute SQL statements outside auto-commit mode. If the current transaction (chunk) fails on a transient error,
+     * it is rolled back and its statements are replayed, as set by the {@link #retryPolicy retry policy}. Retries are
+     * counted per chunk.
+     *
+     * @param scriptObject Script object the statements belong to.
+     * @param statements   Statements to execute.
+     */
+    private void executeWithReplay(ScriptObject scriptObject, Iterator<SQLStatement> statements) throws SQLException {
+        StatementReplay replay = new StatementReplay(statements);
+        long failedChunk = -1;
+        int retry = 0;
+        while (true) {
+            try {
+                executeStatements(scriptObject, replay, replay);
+                return;
+            } catch (ScriptRunnerException ex) {
+                retry = replay.getCommittedCount() == failedChunk ? retry + 1 : 1;
+                failedChunk = replay.getCommittedCount();
+                if (!retryPolicy.shouldRetry(ex, retry)) {
+                    throw ex;
+                }
 
-            Statement statement = connection.createStatement();
-            scriptObject.statements.forEach(sql -> {
                 try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    ex.addSuppressed(rollbackEx);
+                    throw ex;
+                }
+                int replayed = replay.rewind();
+                awaitRetry(ex, retry, "transaction (" + replayed + " statements since the last commit)");
+            }
+        }
+    }
+
+    /**
+     * Execute SQL statements, and commit if not in auto-commit mode.
+     *
+     * @param scriptObject Script object the statements belong to.
+     * @param statements   Statements to execute.
+     * @param replay       Tracker of committed statements, if statements are replayed on failure (may be
+     *                     {@code null}).
+     */
+    private void executeStatements(ScriptObject scriptObject,
+                                   Iterator<SQLStatement> statements,
+                                   StatementReplay replay) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             PreparedStatementCache preparedStatements = prepareStatements ?
+                     new PreparedStatementCache(connection, PREPARED_STATEMENTS_CACHE_SIZE) : null) {
+            PendingBatch batch = new PendingBatch();
+            InsertCoalescer coalescer = coalesceInserts > 1 ?
+                    new InsertCoalescer(coalesceInserts, coalesceInsertsBytes) : null;
+            boolean chunked = !autoCommit &&
+                    (commitInterval > 0 || commitIntervalBytes > 0 || commitIntervalSeconds > 0);
+            long statementCount = replay != null ? replay.getCommittedCount() : 0;
+            int chunkStatements = 0;
+            long chunkBytes = 0;
+            long chunkStartTime = System.nanoTime();
+            lastCommitted = null;
+            committedCount = 0;
+
+            try {
+                while (statements.hasNext()) {
+                    SQLStatement sql = statements.next();
+                    InsertCoalescer.SingleRowInsert insert = coalescer != null ?
+                            InsertCoalescer.parse(sql.sql) :
+                            null;
+                    if (insert == null) {
+                        executeCoalesced(scriptObject, statement, batch, coalescer);
+                    }
+                    PreparedStatement prepared = insert == null && preparedStatements != null && isInsert(sql.sql) ?
+                            preparedStatements.bind(sql.sql) :
+                            null;
+
+                    if (insert != null) {
+                        if (!coalescer.fits(insert)) {
+                            executeCoalesced(scriptObject, statement, batch, coalescer);
+                        }
+                        coalescer.add(sql, insert);
+                    } else if (prepared != null && batchSize > 1) {
+                        prepared.addBatch();
+                        addToBatch(scriptObject, batch, prepared, sql);
+                    } else if (prepared == null && batchSize > 1 && isBatchable(sql.sql)) {
+                        statement.addBatch(sql.sql);
+                        addToBatch(scriptObject, batch, statement, sql);
+                    } else {
+                        // A non-DML statement may depend on the pending DML statements, so flush them first.
+                        executeBatch(scriptObject, batch);
+                        executeStatement(scriptObject, prepared != null ? prepared : statement, sql);
+                    }
+                    statementCount++;
+
+                    if (chunked) {
+                        chunkStatements++;
+                        chunkBytes += sql.sql.length();
+                        if (isChunkComplete(chunkStatements, chunkBytes, chunkStartTime)) {
+                            executeCoalesced(scriptObject, statement, batch, coalescer);
+                            executeBatch(scriptObject, batch);
+                            commit(scriptObject, replay);
+                            if (listener != null) {
+                                listener.committed(scriptObject, sql, statementCount);
+                            }
+
+                            chunkStatements = 0;
+                            chunkBytes = 0;
+                            chunkStartTime = System.nanoTime();
+                        }
+                    }
+                }
+
+                executeCoalesced(scriptObject, statement, batch, coalescer);
+                executeBatch(scriptObject, batch);
+                if (!autoCommit && commitOnCompletion) {
+                    commit(scriptObject, replay);
+                }
+            } catch (ScriptRunnerException ex) {
+                if (listener != null && lastCommitted != null) {
+                    listener.committed(scriptObject, lastCommitted, committedCount);
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Record a successfully executed statement. In auto-commit mode, it is committed as well.
+     *
+     * @param sql Executed statement.
+     */
+    private void executed(SQLStatement sql) {
+        if (autoCommit) {
+            lastCommitted = sql;
+            committedCount++;
+        }
+    }
+
+    /**
+     * Commit the current transaction. Failing to commit is reported as a script failure, so it can be retried (e.g.:
+     * a serialization failure detected on commit).
+     *
+     * @param scriptObject Script object being executed (required in case of error).
+     * @param replay       Tracker of committed statements (may be {@code null}).
+     */
+    private void commit(ScriptObject scriptObject, StatementReplay replay) {
+        try {
+            connection.commit();
+        } catch (SQLException ex) {
+            throw new ScriptRunnerException("Failed to commit (file: " + scriptName(scriptObject) + ").", ex);
+        }
+
+        if (replay != null) {
+            replay.committed();
+        }
+    }
+
+    /**
+     * Wait before retrying a failed execution, as set by the {@link #retryPolicy retry policy}.
+     *
+     * @param failure Transient failure.
+     * @param retry   Number of the retry about to be made (starting with 1).
+     * @param what    Description of what is retried (for logging).
+     * @throws ScriptRunnerException The original failure, if interrupted while waiting.
+     */
+    private void awaitRetry(ScriptRunnerException failure, int retry, String what) {
+        long backoff = retryPolicy.backoffMillis(retry);
+        logger.warn("{} Retrying {} in {} ms (retry {} of {}): {}", failure.getMessage(), what, backoff, retry,
+                retryPolicy.maxRetries, failure.getCause() != null ? failure.getCause().getMessage() : "n/a");
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure.addSuppressed(ex);
+            throw failure;
+        }
+    }
+
+    /**
+     * Check if the current chunk reached any of the configured commit intervals.
+     *
+     * @param statements Number of statements executed since the last commit.
+     * @param bytes      Size of SQL text executed since the last commit.
+     * @param startTime  Time of the last commit ({@link System#nanoTime()}).
+     * @return {@code true} if the chunk should be committed.
+     */
+    private boolean isChunkComplete(int statements, long bytes, long startTime) {
+        return (commitInterval > 0 && statements >= commitInterval) ||
+                (commitIntervalBytes > 0 && bytes >= commitIntervalBytes) ||
+                (commitIntervalSeconds > 0 && System.nanoTime() - startTime >= commitIntervalSeconds * 1_000_000_000L);
+    }
+
+    /**
+     * Execute a single SQL statement.
+     *
+     * @param scriptObject Script object the statement belongs to (required in case of error).
+     * @param statement    JDBC statement to execute with. If a prepared statement is given, it is executed with its
+     *                     currently bound parameters instead of the statement's text.
+     * @param sql          SQL statement to execute.
+     */
+    private void executeStatement(ScriptObject scriptObject, Statement statement, SQLStatement sql) {
+        // Outside auto-commit mode, a failure may abort the whole transaction, so it is replayed instead (see
+        // executeWithReplay).
+        for (int retry = 1; ; retry++) {
+            try {
+                executeStatementOnce(scriptObject, statement, sql);
+                executed(sql);
+                return;
+            } catch (ScriptRunnerException ex) {
+                if (!autoCommit || retryPolicy == null || !retryPolicy.shouldRetry(ex, retry)) {
+                    throw ex;
+                }
+                awaitRetry(ex, retry, "statement");
+            }
+        }
+    }
+
+    /**
+     * Execute a single SQL statement, without retrying.
+     */
+    private void executeStatementOnce(ScriptObject scriptObject, Statement statement, SQLStatement sql) {
+        try {
+            long startTime = System.nanoTime();
+            boolean hasResultSet = statement instanceof PreparedStatement ?
+                    ((PreparedStatement) statement).execute() :
                     statement.execute(sql.sql);
-                } catch (SQLException ex) {
-                    String message = String.format("SQL statement execution failed (file: %s, line: %d).",
-                            scriptObject.scriptFile != null ? scriptObject.scriptFile.toString() : "n/a",
-                            sql.lineNumber);
-                    throw new ScriptRunnerException(message, ex);
+
+            // A statement may produce several results (e.g.: a SQL Server batch). Drivers report the failure of a later
+            // statement only when its result is reached, so all results are consumed. Row count requires reading the
+            // result sets, so it's only done when metrics are collected.
+            long rowCount = -1;
+            long updateCount = -1;
+            while (true) {
+                if (hasResultSet) {
+                    if (metrics != null) {
+                        rowCount = Math.max(rowCount, 0);
+                        try (ResultSet rs = statement.getResultSet()) {
+                            while (rs.next()) {
+                                rowCount++;
+                            }
+                        }
+                    }
+                } else {
+                    int count = statement.getUpdateCount();
+                    if (count == -1) {
+                        break;
+                    }
+                    updateCount = Math.max(updateCount, 0) + count;
                 }
-            });
+                hasResultSet = statement.getMoreResults();
+            }
 
-            if (!autoCommit) {
-                connection.commit();
+            if (metrics == null) {
+                return;
             }
+
+            metrics.record(new StatementMetrics(scriptName(scriptObject), sql, System.nanoTime() - startTime,
+                    updateCount, rowCount));
         } catch (SQLException ex) {
-            throw new ScriptRunnerException("Failed to execute script.", ex);
+            throw new ScriptRunnerException(failureMessage(scriptObject, sql), ex);
+        }
+    }
+
+    /**
+     * Execute the INSERT statements coalesced so far as a single multi-row statement. If the coalesced statement
+     * fails, its rows are replayed one by one, so the error message points at the failing line (and the rows preceding
+     * it are applied, as they would have been without coalescing).
+     *
+     * @param scriptObject Script object the statements belong to (required in case of error).
+     * @param statement    Plain JDBC statement to execute with.
+     * @param batch        Pending batch, executed first to preserve script order.
+     * @param coalescer    Coalesced statements (may be {@code null}). Cleared upon return.
+     */
+    private void executeCoalesced(ScriptObject scriptObject,
+                                  Statement statement,
+                                  PendingBatch batch,
+                                  InsertCoalescer coalescer) {
+        if (coalescer == null || coalescer.isEmpty()) {
+            return;
+        }
+
+        executeBatch(scriptObject, batch);
+        List<SQLStatement> rows = coalescer.getStatements();
+        try {
+            if (rows.size() == 1) {
+                executeStatement(scriptObject, statement, rows.get(0));
+                return;
+            }
+
+            // Outside auto-commit mode, some databases (e.g.: PostgreSQL) abort the whole transaction on failure, so a
+            // savepoint is required to replay the rows.
+            Savepoint savepoint = autoCommit ? null : connection.setSavepoint();
+            try {
+                long startTime = System.nanoTime();
+                statement.execute(coalescer.getSql());
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                for (SQLStatement row : rows) {
+                    executed(row);
+                }
+
+                // The database reports a single wall time and update count, so they are divided evenly among rows.
+                if (metrics != null) {
+                    long elapsedNanos = (System.nanoTime() - startTime) / rows.size();
+                    long updateCount = statement.getUpdateCount() / rows.size();
+                    for (SQLStatement row : rows) {
+                        metrics.record(new StatementMetrics(scriptName(scriptObject), row, elapsedNanos,
+                                updateCount, -1));
+                    }
+                }
+            } catch (SQLException ex) {
+                logger.debug("Coalesced INSERT statement failed, replaying its {} rows one by one.", rows.size(), ex);
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                for (SQLStatement row : rows) {
+                    executeStatement(scriptObject, statement, row);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new ScriptRunnerException(failureMessage(scriptObject, rows.get(0)), ex);
+        } finally {
+            coalescer.clear();
+        }
+    }
+
+    /**
+     * Add a statement to the pending batch. If the pending batch is held by another JDBC statement (e.g.: a prepared
+     * statement of a different shape), it is executed first, so statements are executed in script order.
+     *
+     * @param scriptObject Script object the statement belongs to (required in case of error).
+     * @param batch        Pending batch.
+     * @param statement    JDBC statement the SQL statement was added to (via {@code addBatch}).
+     * @param sql          Added SQL statement.
+     */
+    private void addToBatch(ScriptObject scriptObject, PendingBatch batch, Statement statement, SQLStatement sql) {
+        if (batch.statement != statement) {
+            executeBatch(scriptObject, batch);
+            batch.statement = statement;
         }
+
+        batch.entries.add(sql);
+        if (batch.entries.size() >= batchSize) {
+            executeBatch(scriptObject, batch);
+        }
+    }
+
+    /**
+     * Send all pending batched statements to the database. If the batch fails, the failing entry is mapped back to
+     * its originating SQL statement, so the error message points at the correct script line.
+     *
+     * @param scriptObject Script object the statements belong to (required in case of error).
+     * @param batch        Pending batch. Cleared upon return.
+     */
+    private void executeBatch(ScriptObject scriptObject, PendingBatch batch) {
+        List<SQLStatement> entries = batch.entries;
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            long startTime = System.nanoTime();
+            int[] updateCounts = batch.statement.executeBatch();
+            for (SQLStatement entry : entries) {
+                executed(entry);
+            }
+
+            // The database reports a single wall time for the whole batch, so it is divided evenly among entries.
+            if (metrics != null) {
+                long elapsedNanos = (System.nanoTime() - startTime) / entries.size();
+                for (int index = 0; index < entries.size(); index++) {
+                    long updateCount = index < updateCounts.length ? updateCounts[index] : -1;
+                    metrics.record(new StatementMetrics(scriptName(scriptObject), entries.get(index), elapsedNanos,
+                            updateCount, -1));
+                }
+            }
+        } catch (BatchUpdateException ex) {
+            // In auto-commit mode, the entries preceding the failed one are applied. Drivers that continue past the
+            // failure may apply later entries as well, which cannot be told apart from a resume point.
+            int failedIndex = failedBatchIndex(ex, entries.size());
+            for (int index = 0; index < failedIndex; index++) {
+                executed(entries.get(index));
+            }
+            SQLStatement failed = entries.get(failedIndex);
+            throw new ScriptRunnerException(failureMessage(scriptObject, failed), ex);
+        } catch (SQLException ex) {
+            String message = String.format("SQL batch execution failed (file: %s, lines: %d-%d).",
+                    scriptName(scriptObject),
+                    entries.get(0).lineNumber,
+                    entries.get(entries.size() - 1).lineNumber);
+            throw new ScriptRunnerException(message, ex);
+        } finally {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Resolve the index of the batch entry that caused a batch to fail. Drivers either stop processing at the first
+     * failure (in which case the update counts array is shorter than the batch) or continue and mark failed entries
+     * with {@link Statement#EXECUTE_FAILED}.
+     *
+     * @param ex        Batch failure reported by the driver.
+     * @param batchSize Number of entries in the failed batch.
+     * @return Index of the failing entry, or {@code 0} if the driver does not provide enough information.
+     */
+    public static int failedBatchIndex(BatchUpdateException ex, int batchSize) {
+        int[] updateCounts = ex.getUpdateCounts();
+        if (updateCounts == null) {
+            return 0;
+        }
+
+        if (updateCounts.length < batchSize) {
+            return updateCounts.length;
+        }
+
+        for (int index = 0; index < updateCounts.length; index++) {
+            if (updateCounts[index] == Statement.EXECUTE_FAILED) {
+                return index;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Check if a statement can be added to a JDBC batch. Only DML statements that do not produce a result set are
+     * batchable.
+     *
+     * @param sql SQL statement.
+     * @return {@code true} if the statement starts with INSERT, UPDATE, DELETE or MERGE, {@code false} otherwise.
+     */
+    static boolean isBatchable(String sql) {
+        int index = 0;
+        while (index < sql.length() && Character.isWhitespace(sql.charAt(index))) {
+            index++;
+        }
+
+        return startsWithKeyword(sql, index, "INSERT") ||
+                startsWithKeyword(sql, index, "UPDATE") ||
+                startsWithKeyword(sql, index, "DELETE") ||
+                startsWithKeyword(sql, index, "MERGE");
+    }
+
+    /**
+     * Check if a statement is an INSERT statement.
+     */
+    private static boolean isInsert(String sql) {
+        int index = 0;
+        while (index < sql.length() && Character.isWhitespace(sql.charAt(index))) {
+            index++;
+        }
+
+        return startsWithKeyword(sql, index, "INSERT");
+    }
+
+    /**
+     * Case-insensitive check whether a keyword appears at a given offset, followed by a non-identifier character.
+     */
+    private static boolean startsWithKeyword(String sql, int offset, String keyword) {
+        int end = offset + keyword.length();
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length()) &&
+                (end == sql.length() || !Character.isLetterOrDigit(sql.charAt(end)));
+    }
+
+    /**
+     * Generate an error message for a failed statement.
+     */
+    private static String failureMessage(ScriptObject scriptObject, SQLStatement sql) {
+        return String.format("SQL statement execution failed (file: %s, line: %d).",
+                scriptName(scriptObject),
+                sql.lineNumber);
+    }
+
+    /**
+     * @return Name of the script file, or 'n/a' if the script was not read from file.
+     */
+    private static String scriptName(ScriptObject scriptObject) {
+        return scriptObject.scriptFile != null ? scriptObject.scriptFile.toString() : "n/a";
+    }
+
+    /**
+     * Statements added to a JDBC batch, but not sent to the database yet.
+     */
+    private static class PendingBatch {
+
+        /**
+         * JDBC statement holding the batch: either the script's plain statement or a prepared statement.
+         */
+        Statement statement;
+
+        /**
+         * Batched SQL statements, in script order.
+         */
+        final List<SQLStatement> entries = new ArrayList<>();
     }
-}
\ No newline at end of file
+}
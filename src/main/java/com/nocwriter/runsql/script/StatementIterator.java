@@ -0,0 +1,366 @@
+package com.nocwriter.runsql.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily extracts SQL statements from a script, one line at a time. Only the statement currently being assembled (and
+ * statements completed on the current line) are held in memory, regardless of the size of the script.<p>
+ * <p>
+ * The script is scanned directly over a character buffer: lines are located by offset within the buffer, quoting
+ * state is kept in a primitive and statement text is sliced out of the buffer in bulk, so scanning does not allocate
+ * per line or per character. Only the produced statements are allocated.<p>
+ * <p>
+ * Instances are created via {@link ScriptParser#iterateScript(java.io.Reader)} or
+ * {@link ScriptParser#iterateScript(java.util.List)}. When the iterator is fed from a reader, the caller is
+ * responsible for closing it.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class StatementIterator implements StatementSource {
+
+    /**
+     * Initial size of the character buffer. The buffer grows if a single line does not fit in it.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /**
+     * Marks "not within a quoted block" state.
+     */
+    private static final char NO_QUOTE = 0;
+
+    /**
+     * Source of script lines (in-memory scripts), or {@code null} if the script is read from {@link #reader}.
+     */
+    private final Iterator<String> lines;
+
+    /**
+     * Source of script characters, or {@code null} for in-memory scripts.
+     */
+    private final Reader reader;
+
+    /**
+     * Indicates if newlines should be kept on the generated SQL statements (see {@link ScriptParser#keepNewlines}).
+     */
+    private final boolean keepNewlines;
+
+    /**
+     * Statements completed but not yet consumed by the caller.
+     */
+    private final Deque<SQLStatement> pending = new ArrayDeque<>();
+
+    /**
+     * Buffer of a statement spanning multiple lines. Statements contained in a single line are sliced directly out of
+     * the character buffer and never go through this builder.
+     */
+    private final StringBuilder buf = new StringBuilder();
+
+    /**
+     * Character buffer being scanned.
+     */
+    private char[] chars = new char[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Offset of the first unprocessed character in {@link #chars}.
+     */
+    private int position = 0;
+
+    /**
+     * Number of valid characters in {@link #chars}.
+     */
+    private int limit = 0;
+
+    /**
+     * Indicates that the entire script was read.
+     */
+    private boolean endOfInput = false;
+
+    /**
+     * Number of the line last read from the script.
+     */
+    private int lineNumber = 0;
+
+    /**
+     * Line number the statement currently being assembled starts at.
+     */
+    private int statementLineNumber = 0;
+
+    /**
+     * Indicates the last statement returned was not terminated by ';' (i.e.: the script ended within a statement).
+     */
+    private boolean endedWithinStatement = false;
+
+    /**
+     * Class constructor for in-memory scripts.
+     *
+     * @param lines        Source of script lines.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     */
+    StatementIterator(Iterator<String> lines, boolean keepNewlines) {
+        this.lines = lines;
+        this.reader = null;
+        this.keepNewlines = keepNewlines;
+    }
+
+    /**
+     * Class constructor for scripts read from a reader.
+     *
+     * @param reader       Source of script characters.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     */
+    StatementIterator(Reader reader, boolean keepNewlines) {
+        this.lines = null;
+        this.reader = reader;
+        this.keepNewlines = keepNewlines;
+    }
+
+    /**
+     * Class constructor for a script (or a part of one) held in a character array. The array is scanned in place.
+     *
+     * @param chars        Script characters.
+     * @param length       Number of valid characters in {@code chars}.
+     * @param keepNewlines {@code true} to keep new-lines, {@code false} to replace them with white space.
+     */
+    StatementIterator(char[] chars, int length, boolean keepNewlines) {
+        this.lines = null;
+        this.reader = null;
+        this.keepNewlines = keepNewlines;
+        this.chars = chars;
+        this.limit = length;
+        this.endOfInput = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pending.isEmpty() && (lines != null ? scanNextListLine() : scanNextReaderLine())) {
+            // Keep scanning until at least one statement is available or the script is exhausted.
+        }
+
+        // If there's anything left in our internal buffer at the end of the script, we treat it as a statement.
+        if (pending.isEmpty() && buf.length() > 0) {
+            pending.add(new SQLStatement(statementLineNumber, buf.toString()));
+            buf.setLength(0);
+            endedWithinStatement = true;
+        }
+
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public SQLStatement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return pending.poll();
+    }
+
+    /**
+     * @return Number of lines scanned so far.
+     */
+    int getLineCount() {
+        return lineNumber;
+    }
+
+    /**
+     * @return {@code true} if the script was exhausted within a statement, i.e.: the last statement returned is not
+     * terminated by ';'.
+     */
+    boolean isEndedWithinStatement() {
+        return endedWithinStatement;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Copy the next in-memory line into the character buffer and scan it.
+     *
+     * @return {@code true} if a line was scanned, {@code false} if there are no more lines.
+     */
+    private boolean scanNextListLine() {
+        if (!lines.hasNext()) {
+            return false;
+        }
+
+        String line = lines.next();
+        ensureCapacity(line.length());
+        line.getChars(0, line.length(), chars, 0);
+        scanLine(0, line.length());
+        return true;
+    }
+
+    /**
+     * Locate the next line in the character buffer (reading more characters if required) and scan it. Lines are
+     * terminated by either '\n', '\r' or "\r\n".
+     *
+     * @return {@code true} if a line was scanned, {@code false} if the script is exhausted.
+     */
+    private boolean scanNextReaderLine() {
+        int searchFrom = position;
+        while (true) {
+            int end = searchFrom;
+            while (end < limit && chars[end] != '\n' && chars[end] != '\r') {
+                end++;
+            }
+
+            // A '\r' as the last buffered character may be followed by '\n' which is not read yet.
+            boolean terminated = end < limit && (chars[end] == '\n' || end + 1 < limit || endOfInput);
+            if (terminated) {
+                int next = end + 1;
+                if (chars[end] == '\r' && next < limit && chars[next] == '\n') {
+                    next++;
+                }
+                scanLine(position, end);
+                position = next;
+                return true;
+            }
+
+            if (endOfInput) {
+                if (position == limit) {
+                    return false;
+                }
+
+                // Last line, without a line terminator.
+                scanLine(position, limit);
+                position = limit;
+                return true;
+            }
+
+            searchFrom = end - position;
+            fill();
+            searchFrom = Math.min(searchFrom, limit);
+        }
+    }
+
+    /**
+     * Move unprocessed characters to the beginning of the buffer (growing it, if needed) and read more characters.
+     */
+    private void fill() {
+        int remaining = limit - position;
+        if (remaining == chars.length) {
+            char[] grown = new char[chars.length * 2];
+            System.arraycopy(chars, position, grown, 0, remaining);
+            chars = grown;
+        } else if (position > 0) {
+            System.arraycopy(chars, position, chars, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        try {
+            int count = reader.read(chars, limit, chars.length - limit);
+            if (count < 0) {
+                endOfInput = true;
+            } else {
+                limit += count;
+            }
+        } catch (IOException ex) {
+            throw new ScriptRunnerException("Failed to read SQL script (line: " + (lineNumber + 1) + ").", ex);
+        }
+    }
+
+    /**
+     * Make sure the character buffer can hold at least {@code size} characters.
+     */
+    private void ensureCapacity(int size) {
+        if (chars.length < size) {
+            chars = new char[Math.max(size, chars.length * 2)];
+        }
+    }
+
+    /**
+     * Process a single script line held in {@code chars[start..end)}, adding any statement completed on this line to
+     * the pending queue.
+     *
+     * @param start Offset of the first character of the line.
+     * @param end   Offset just past the last character of the line (excluding line terminator).
+     */
+    private void scanLine(int start, int end) {
+        // Current line number.
+        lineNumber++;
+
+        // Skip empty or comment lines.
+        int firstVisible = start;
+        while (firstVisible < end && chars[firstVisible] <= ' ') {
+            firstVisible++;
+        }
+        if (firstVisible == end ||
+                (chars[firstVisible] == '-' && firstVisible + 1 < end && chars[firstVisible + 1] == '-')) {
+            return;
+        }
+
+        // If we've reached this point, we are currently processing an SQL statement we want to extract.
+        // If the internal buffer is empty, it means that this is the beginning of the statement.
+        // Otherwise, it's a part of the previous line.
+        if (buf.length() == 0) {
+            statementLineNumber = lineNumber;
+        } else {
+            buf.append(keepNewlines ? '\n' : ' ');
+        }
+
+        // Scan the line, tracking quoting blocks limited by either ' or ". Statement text is not copied character by
+        // character; instead, we track where the current segment starts and slice it out once it ends.
+        char quotingChar = NO_QUOTE;
+        int segmentStart = start;
+        int segmentEnd = end;
+        for (int index = start; index < end; index++) {
+            char ch = chars[index];
+            if (quotingChar == NO_QUOTE && ch == '-' && index + 1 < end && chars[index + 1] == '-') {
+                segmentEnd = index;
+                break;
+            }
+
+            // Check if we need to start a new quoted block or end one.
+            if (ch == '\'' || ch == '"') {
+                if (quotingChar == NO_QUOTE) {
+                    quotingChar = ch;
+                } else if (quotingChar == ch) {
+                    quotingChar = NO_QUOTE;
+                }
+            }
+
+            // If encounter "end-of-statement" separator (;) which is not within a quoted block (e.g.: inside '...'
+            // or "..."), we need to flush current statement and start processing a new statement.
+            if (quotingChar == NO_QUOTE && ch == ';') {
+                flush(segmentStart, index + 1);
+
+                // If we completed flushing the last SQL statement, skip remaining spaces till the end of the line.
+                while (index + 1 < end && Character.isWhitespace(chars[index + 1])) {
+                    index++;
+                }
+                segmentStart = index + 1;
+            }
+        }
+
+        // Keep remainder of the line as the beginning of the next statement.
+        if (segmentStart < segmentEnd) {
+            buf.append(chars, segmentStart, segmentEnd - segmentStart);
+        }
+    }
+
+    /**
+     * Complete the current statement with {@code chars[start..end)} and move it to the pending queue.
+     */
+    private void flush(int start, int end) {
+        String sql;
+        if (buf.length() == 0) {
+            // The entire statement resides within the current line -- slice it directly out of the buffer.
+            sql = new String(chars, start, end - start);
+        } else {
+            sql = buf.append(chars, start, end - start).toString();
+            buf.setLength(0);
+        }
+
+        pending.add(new SQLStatement(statementLineNumber, sql));
+    }
+}
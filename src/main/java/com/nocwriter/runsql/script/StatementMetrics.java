@@ -0,0 +1,80 @@
+package com.nocwriter.runsql.script;
+
+import java.util.StringJoiner;
+
+/**
+ * Execution metrics of a single SQL statement.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class StatementMetrics {
+
+    /**
+     * Maximum length of SQL text kept for reporting. Longer statements are truncated, so keeping the slowest
+     * statements does not hold large amounts of SQL text in memory.
+     */
+    static final int MAX_SQL_LENGTH = 500;
+
+    /**
+     * Name of the script the statement belongs to ('n/a' for direct scripts).
+     */
+    public final String scriptName;
+
+    /**
+     * Line number of the statement within its script.
+     */
+    public final int lineNumber;
+
+    /**
+     * SQL text (possibly truncated).
+     */
+    public final String sql;
+
+    /**
+     * Wall time of the statement, in nanoseconds.
+     */
+    public final long elapsedNanos;
+
+    /**
+     * Number of rows affected, or {@code -1} if not applicable (e.g.: DDL or queries).
+     */
+    public final long updateCount;
+
+    /**
+     * Number of rows returned by a query, or {@code -1} if the statement did not produce a result set.
+     */
+    public final long rowCount;
+
+    /**
+     * Class constructor.
+     *
+     * @param scriptName   Name of the script the statement belongs to.
+     * @param statement    The executed statement.
+     * @param elapsedNanos Wall time, in nanoseconds.
+     * @param updateCount  Number of affected rows, or {@code -1}.
+     * @param rowCount     Number of returned rows, or {@code -1}.
+     */
+    public StatementMetrics(String scriptName, SQLStatement statement, long elapsedNanos, long updateCount,
+                            long rowCount) {
+        this.scriptName = scriptName;
+        this.lineNumber = statement.lineNumber;
+        this.sql = statement.sql.length() > MAX_SQL_LENGTH ?
+                statement.sql.substring(0, MAX_SQL_LENGTH) + "..." :
+                statement.sql;
+        this.elapsedNanos = elapsedNanos;
+        this.updateCount = updateCount;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StatementMetrics.class.getSimpleName() + "[", "]")
+                .add("scriptName='" + scriptName + "'")
+                .add("lineNumber=" + lineNumber)
+                .add("elapsedNanos=" + elapsedNanos)
+                .add("updateCount=" + updateCount)
+                .add("rowCount=" + rowCount)
+                .toString();
+    }
+}
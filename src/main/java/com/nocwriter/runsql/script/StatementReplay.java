@@ -0,0 +1,89 @@
+package com.nocwriter.runsql.script;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterator keeping the statements provided since the last commit, so they can be provided again if the transaction
+ * is rolled back (see {@link RetryPolicy}). Memory is bounded by the size of a transaction: statements are discarded
+ * once committed.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+class StatementReplay implements Iterator<SQLStatement> {
+
+    /**
+     * Statements source.
+     */
+    private final Iterator<SQLStatement> source;
+
+    /**
+     * Statements provided since the last commit.
+     */
+    private final List<SQLStatement> uncommitted = new ArrayList<>();
+
+    /**
+     * Index of the next statement to replay out of {@link #uncommitted} (equals its size when not replaying).
+     */
+    private int position;
+
+    /**
+     * Number of statements committed so far.
+     */
+    private long committedCount;
+
+    /**
+     * Class constructor.
+     *
+     * @param source Statements source.
+     */
+    StatementReplay(Iterator<SQLStatement> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < uncommitted.size() || source.hasNext();
+    }
+
+    @Override
+    public SQLStatement next() {
+        if (position < uncommitted.size()) {
+            return uncommitted.get(position++);
+        }
+
+        SQLStatement statement = source.next();
+        uncommitted.add(statement);
+        position++;
+        return statement;
+    }
+
+    /**
+     * Mark all statements provided so far as committed, discarding them. A chunk may end earlier while replaying
+     * (e.g.: on a time-based commit interval), in which case the remaining statements are still replayed.
+     */
+    void committed() {
+        committedCount += position;
+        uncommitted.subList(0, position).clear();
+        position = 0;
+    }
+
+    /**
+     * Start providing the uncommitted statements again.
+     *
+     * @return Number of statements to replay.
+     */
+    int rewind() {
+        position = 0;
+        return uncommitted.size();
+    }
+
+    /**
+     * @return Number of statements committed so far.
+     */
+    long getCommittedCount() {
+        return committedCount;
+    }
+}
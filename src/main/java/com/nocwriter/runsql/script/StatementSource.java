@@ -0,0 +1,15 @@
+package com.nocwriter.runsql.script;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * A lazily evaluated sequence of SQL statements, e.g.: statements parsed from a script as it is being read (see
+ * {@link StatementIterator}) or statements read back from the {@link ParseCache parse cache}. The caller must close
+ * the source once done, releasing any underlying file.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public interface StatementSource extends Iterator<SQLStatement>, Closeable {
+}
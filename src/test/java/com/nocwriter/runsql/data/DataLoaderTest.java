@@ -0,0 +1,122 @@
+package com.nocwriter.runsql.data;
+
+import com.nocwriter.runsql.RunSQLException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Integration tests for {@link DataLoader}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class DataLoaderTest {
+
+    private Connection connection;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:hsqldb:mem:data", "SA", "");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Test that CSV rows are converted to column types, including quoted values and NULLs.
+     */
+    @Test
+    @DisplayName("Test should load CSV file into table")
+    public void testShouldLoadCsvFile() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE load_books " +
+                    "(id INT, name VARCHAR(100), published DATE, price DECIMAL(6,2));");
+        }
+        File dataFile = writeFile("books.csv",
+                "id,name,published,price\r\n" +
+                        "1,\"The Hound of the Baskervilles\",1902-04-01,9.99\r\n" +
+                        "2,\"Multi\nline, \"\"quoted\"\"\",,\n" +
+                        "3,\"\",1920-01-01,\n");
+
+        DataLoader loader = new DataLoader(connection);
+        loader.batchSize = 2;
+        long rows = loader.load(dataFile, "load_books", DataFormat.CSV);
+
+        Assertions.assertThat(rows).isEqualTo(3);
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT name, published FROM load_books WHERE id = 2;");
+            rs.next();
+            Assertions.assertThat(rs.getString(1)).isEqualTo("Multi\nline, \"quoted\"");
+            Assertions.assertThat(rs.getDate(2)).isNull();
+        }
+    }
+
+    /**
+     * Test that a rejected row is reported with its line number, and that the load is rolled back.
+     */
+    @Test
+    @DisplayName("Test should report line number of rejected row")
+    public void testShouldReportLineOfRejectedRow() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE load_keys (id INT PRIMARY KEY);");
+        }
+        File dataFile = writeFile("keys.tsv", "id\n1\n2\n\n1\n3\n");
+
+        DataLoader loader = new DataLoader(connection);
+        Assertions.assertThatThrownBy(() -> loader.load(dataFile, "load_keys", DataFormat.fromFileName(dataFile)))
+                .isInstanceOf(RunSQLException.class)
+                .hasMessageContaining("line: 5");
+
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM load_keys;");
+            rs.next();
+            Assertions.assertThat(rs.getInt(1)).isZero();
+        }
+    }
+
+    /**
+     * Test that table and column names which are not valid identifiers are rejected rather than embedded in SQL.
+     */
+    @Test
+    @DisplayName("Test should reject invalid identifiers")
+    public void testShouldRejectInvalidIdentifiers() throws IOException {
+        File dataFile = writeFile("names.csv", "id,\"name) VALUES (1, 'x'); DROP TABLE load_books; --\"\n1,a\n");
+
+        DataLoader loader = new DataLoader(connection);
+        Assertions.assertThatThrownBy(() -> loader.load(dataFile, "load_names", DataFormat.CSV))
+                .isInstanceOf(RunSQLException.class)
+                .hasMessageContaining("Invalid column name");
+        Assertions.assertThatThrownBy(() -> loader.load(dataFile, "load_names; DROP TABLE load_books", DataFormat.CSV))
+                .isInstanceOf(RunSQLException.class)
+                .hasMessageContaining("Invalid table name");
+    }
+
+    private File writeFile(String name, String contents) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+}
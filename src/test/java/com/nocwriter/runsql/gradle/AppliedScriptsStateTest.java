@@ -0,0 +1,77 @@
+package com.nocwriter.runsql.gradle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for {@link AppliedScriptsState}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class AppliedScriptsStateTest {
+
+    /**
+     * Target database of the recorded state.
+     */
+    private static final String TARGET = "jdbc:hsqldb:mem:state (SA)";
+
+    /**
+     * Test that an applied script is persisted to the state file immediately, and recognized by checksum once loaded.
+     */
+    @Test
+    @DisplayName("Test should persist applied scripts")
+    public void testShouldPersistAppliedScripts(@TempDir Path tempDir) {
+        File stateFile = tempDir.resolve("state/applied-scripts.properties").toFile();
+        AppliedScriptsState state = AppliedScriptsState.load(stateFile, TARGET);
+        assertThat(state.isApplied("db/books.sql", "abc")).isFalse();
+
+        state.markApplied("db/books.sql", "abc");
+        assertThat(stateFile).exists();
+
+        AppliedScriptsState loaded = AppliedScriptsState.load(stateFile, TARGET);
+        assertThat(loaded.isApplied("db/books.sql", "abc")).isTrue();
+        assertThat(loaded.isApplied("db/books.sql", "def")).isFalse();
+        assertThat(loaded.isApplied("db/authors.sql", "abc")).isFalse();
+    }
+
+    /**
+     * Test that the recorded state is discarded once the target database (URL or username) changes.
+     */
+    @Test
+    @DisplayName("Test should discard state of another target")
+    public void testShouldDiscardStateOfAnotherTarget(@TempDir Path tempDir) {
+        File stateFile = tempDir.resolve("applied-scripts.properties").toFile();
+        AppliedScriptsState.load(stateFile, TARGET).markApplied("db/books.sql", "abc");
+
+        AppliedScriptsState otherUrl = AppliedScriptsState.load(stateFile, "jdbc:hsqldb:mem:other (SA)");
+        assertThat(otherUrl.isApplied("db/books.sql", "abc")).isFalse();
+        AppliedScriptsState otherUser = AppliedScriptsState.load(stateFile, "jdbc:hsqldb:mem:state (admin)");
+        assertThat(otherUser.isApplied("db/books.sql", "abc")).isFalse();
+        assertThat(AppliedScriptsState.load(stateFile, TARGET).isApplied("db/books.sql", "abc")).isTrue();
+    }
+
+    /**
+     * Test that a state file which cannot be read (or parsed) is ignored, so all scripts are executed.
+     */
+    @Test
+    @DisplayName("Test should ignore unreadable state file")
+    public void testShouldIgnoreUnreadableStateFile(@TempDir Path tempDir) throws IOException {
+        File directory = Files.createDirectories(tempDir.resolve("applied-scripts.properties")).toFile();
+        assertThat(AppliedScriptsState.load(directory, TARGET).isApplied("db/books.sql", "abc")).isFalse();
+
+        Path corrupted = tempDir.resolve("corrupted.properties");
+        Files.write(corrupted, ("target=" + TARGET + "\nscript.db/books.sql=abc\\uZZZZ\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        assertThat(AppliedScriptsState.load(corrupted.toFile(), TARGET).isApplied("db/books.sql", "abc")).isFalse();
+    }
+}
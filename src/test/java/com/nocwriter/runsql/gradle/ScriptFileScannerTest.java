@@ -0,0 +1,45 @@
+package com.nocwriter.runsql.gradle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for {@link ScriptFileScanner}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+public class ScriptFileScannerTest {
+
+    /**
+     * Test that directories and glob patterns are expanded to script files in natural (versioned) order.
+     */
+    @Test
+    @DisplayName("Test should expand directories and glob patterns")
+    public void testShouldExpandDirectoriesAndGlobPatterns(@TempDir Path tempDir) throws IOException {
+        Path migrations = Files.createDirectories(tempDir.resolve("migrations"));
+        Files.createDirectories(migrations.resolve("archive"));
+        for (String name : new String[]{"V10__orders.sql", "V2__users.sql", "V1_10__index.sql", "V1_2__schema.sql",
+                "README.txt", "archive/V1__legacy.sql.gz"}) {
+            Files.createFile(migrations.resolve(name));
+        }
+        Files.createFile(tempDir.resolve("seed.sql"));
+
+        assertThat(ScriptFileScanner.scan(tempDir.toFile(), new String[]{"migrations"}))
+                .extracting(File::getName)
+                .containsExactly("V1__legacy.sql.gz", "V1_2__schema.sql", "V1_10__index.sql", "V2__users.sql",
+                        "V10__orders.sql");
+
+        assertThat(ScriptFileScanner.scan(tempDir.toFile(), new String[]{"seed.sql", "migrations/**/V1*.sql"}))
+                .extracting(File::getName)
+                .containsExactly("seed.sql", "V1_2__schema.sql", "V1_10__index.sql", "V10__orders.sql");
+    }
+}
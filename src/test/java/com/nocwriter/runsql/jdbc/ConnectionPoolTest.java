@@ -0,0 +1,140 @@
+package com.nocwriter.runsql.jdbc;
+
+import com.nocwriter.runsql.gradle.ConnectionPoolService;
+import com.nocwriter.runsql.gradle.RunSQLProperties;
+import org.gradle.api.services.BuildServiceParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for {@link ConnectionPool}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class ConnectionPoolTest {
+
+    /**
+     * JDBC URL for HSQLDB in-memory database.
+     */
+    private static final String URL = "jdbc:hsqldb:mem:pool";
+
+    /**
+     * Test that a released connection is reused, with its open transaction rolled back and auto-commit restored.
+     */
+    @Test
+    @DisplayName("Test should roll back released connections and reuse them")
+    public void testShouldRollBackAndReuseReleasedConnections() throws SQLException {
+        try (ConnectionPool pool = newPool(1, 60_000, 0)) {
+            Connection connection = pool.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE pooled_books (id INT);");
+                connection.setAutoCommit(false);
+                //noinspection SqlResolve
+                statement.execute("INSERT INTO pooled_books VALUES (1);");
+            }
+            pool.releaseConnection(connection);
+
+            Connection reused = pool.getConnection();
+            assertThat(reused).isSameAs(connection);
+            assertThat(reused.getAutoCommit()).isTrue();
+            try (Statement statement = reused.createStatement()) {
+                //noinspection SqlResolve
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM pooled_books;");
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(0);
+            }
+            pool.releaseConnection(reused);
+        }
+    }
+
+    /**
+     * Test that idle connections which are no longer valid, or stayed idle past the idle timeout, are not handed out.
+     */
+    @Test
+    @DisplayName("Test should discard invalid and expired connections")
+    public void testShouldDiscardInvalidAndExpiredConnections() throws SQLException, InterruptedException {
+        try (ConnectionPool pool = newPool(1, 60_000, 0)) {
+            Connection connection = pool.getConnection();
+            pool.releaseConnection(connection);
+            connection.close();
+
+            Connection replacement = pool.getConnection();
+            assertThat(replacement).isNotSameAs(connection);
+            pool.releaseConnection(replacement);
+        }
+
+        try (ConnectionPool pool = newPool(1, 1, 0)) {
+            Connection connection = pool.getConnection();
+            pool.releaseConnection(connection);
+            Thread.sleep(20);
+
+            Connection replacement = pool.getConnection();
+            assertThat(replacement).isNotSameAs(connection);
+            assertThat(connection.isClosed()).isTrue();
+            pool.releaseConnection(replacement);
+        }
+    }
+
+    /**
+     * Test that waiting for a connection of an exhausted pool times out, and that a released connection is available
+     * again.
+     */
+    @Test
+    @DisplayName("Test should time out when pool is exhausted")
+    public void testShouldTimeOutWhenExhausted() throws SQLException {
+        try (ConnectionPool pool = newPool(1, 60_000, 50)) {
+            Connection connection = pool.getConnection();
+            assertThatThrownBy(pool::getConnection)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("Timed out");
+
+            pool.releaseConnection(connection);
+            assertThat(pool.getConnection()).isSameAs(connection);
+        }
+    }
+
+    /**
+     * Test that tasks connecting with different credentials do not share a pool.
+     */
+    @Test
+    @DisplayName("Test should key shared pools by credentials")
+    public void testShouldKeySharedPoolsByCredentials() {
+        ConnectionPoolService service = new ConnectionPoolService() {
+            @Override
+            public BuildServiceParameters.None getParameters() {
+                return null;
+            }
+        };
+
+        try {
+            ConnectionPool pool = service.getPool(newProperties("secret"));
+            assertThat(service.getPool(newProperties("secret"))).isSameAs(pool);
+            assertThat(service.getPool(newProperties("other"))).isNotSameAs(pool);
+        } finally {
+            service.close();
+        }
+    }
+
+    private static ConnectionPool newPool(int maxSize, long idleTimeoutMillis, long acquireTimeoutMillis) {
+        return new ConnectionPool(URL, "SA", "", maxSize, null, idleTimeoutMillis, acquireTimeoutMillis);
+    }
+
+    private static RunSQLProperties newProperties(String password) {
+        RunSQLProperties props = new RunSQLProperties();
+        props.setUrl(URL);
+        props.setUsername("SA");
+        props.setPassword(password);
+        props.setConnectionPoolSize(1);
+        return props;
+    }
+}
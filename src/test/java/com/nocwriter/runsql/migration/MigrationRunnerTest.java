@@ -0,0 +1,190 @@
+package com.nocwriter.runsql.migration;
+
+import com.nocwriter.runsql.gradle.ScriptObject;
+import com.nocwriter.runsql.script.RetryPolicy;
+import com.nocwriter.runsql.script.ScriptParser;
+import com.nocwriter.runsql.script.ScriptRunnerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for {@link MigrationRunner}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class MigrationRunnerTest {
+
+    /**
+     * JDBC URL for HSQLDB in-memory database.
+     */
+    private static final String URL = "jdbc:hsqldb:mem:migration";
+
+    /**
+     * Test that only pending migrations are applied, in version order, and that modified migrations are refused (but
+     * not migrations whose line endings changed).
+     */
+    @Test
+    @DisplayName("Test should apply pending migrations only")
+    public void testShouldApplyPendingMigrationsOnly(@TempDir Path tempDir) throws IOException, SQLException {
+        Path schema = tempDir.resolve("V1__create_books.sql");
+        Files.write(schema, Collections.singletonList("CREATE TABLE migrated_books (id INT);"));
+        Path data = tempDir.resolve("V1_10__add_books.sql");
+        Files.write(data, Collections.singletonList("INSERT INTO migrated_books VALUES (1);"));
+
+        try (Connection connection = DriverManager.getConnection(URL, "SA", "")) {
+            assertThat(newRunner(connection).migrate(scripts(data, schema))).isEqualTo(2);
+            assertThat(newRunner(connection).migrate(scripts(data, schema))).isEqualTo(0);
+
+            Files.write(schema, "CREATE TABLE migrated_books (id INT);\r\n".getBytes(StandardCharsets.UTF_8));
+            assertThat(newRunner(connection).migrate(scripts(data, schema))).isEqualTo(0);
+
+            Path moreData = tempDir.resolve("V2__add_more_books.sql");
+            Files.write(moreData, Collections.singletonList("INSERT INTO migrated_books VALUES (2);"));
+            assertThat(newRunner(connection).migrate(scripts(data, schema, moreData))).isEqualTo(1);
+
+            try (Statement statement = connection.createStatement()) {
+                //noinspection SqlResolve
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM migrated_books");
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(2);
+            }
+
+            Files.write(data, Collections.singletonList("INSERT INTO migrated_books VALUES (3);"));
+            assertThatThrownBy(() -> newRunner(connection).migrate(scripts(data, schema, moreData)))
+                    .isInstanceOf(MigrationException.class)
+                    .hasMessageContaining("V1_10__add_books.sql");
+        }
+    }
+
+    /**
+     * Test that a failed migration is rolled back as a whole, and recorded as failed.
+     */
+    @Test
+    @DisplayName("Test should roll back failed migration")
+    public void testShouldRollBackFailedMigration(@TempDir Path tempDir) throws IOException, SQLException {
+        Path schema = tempDir.resolve("V1__create_authors.sql");
+        Files.write(schema, Collections.singletonList("CREATE TABLE migrated_authors (id INT PRIMARY KEY);"));
+        Path data = tempDir.resolve("V2__add_authors.sql");
+        Files.write(data, Arrays.asList(
+                "INSERT INTO migrated_authors VALUES (1);",
+                "INSERT INTO migrated_authors VALUES (1);"));
+
+        try (Connection connection = DriverManager.getConnection(URL, "SA", "")) {
+            assertThatThrownBy(() -> newRunner(connection).migrate(scripts(schema, data)))
+                    .isInstanceOf(ScriptRunnerException.class);
+
+            try (Statement statement = connection.createStatement()) {
+                //noinspection SqlResolve
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM migrated_authors");
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(0);
+            }
+
+            assertThatThrownBy(() -> newRunner(connection).migrate(scripts(schema, data)))
+                    .isInstanceOf(MigrationException.class)
+                    .hasMessageContaining("V2");
+        }
+    }
+
+    /**
+     * Test that migrations are not retried, even if a retry policy is configured: a retry would replay the migration
+     * from its first statement, re-running DDL the database committed implicitly.
+     */
+    @Test
+    @DisplayName("Test should not retry migrations")
+    public void testShouldNotRetryMigrations(@TempDir Path tempDir) throws IOException, SQLException {
+        Path migration = tempDir.resolve("V1__create_publishers.sql");
+        Files.write(migration, Arrays.asList(
+                "CREATE TABLE migrated_publishers (id INT);",
+                "INSERT INTO migrated_publishers VALUES (1);"));
+
+        try (Connection connection = DriverManager.getConnection(URL, "SA", "")) {
+            AtomicInteger failures = new AtomicInteger(1);
+            Connection deadlocking = deadlockingConnection(connection, "INSERT INTO migrated_publishers", failures);
+            MigrationRunner runner = new MigrationRunner(deadlocking, new ScriptParser(), scriptRunner -> {
+                scriptRunner.retryPolicy = new RetryPolicy(3);
+                scriptRunner.retryPolicy.initialBackoffMillis = 1;
+            }, "runsql_schema_history");
+
+            assertThatThrownBy(() -> runner.migrate(scripts(migration)))
+                    .isInstanceOf(ScriptRunnerException.class)
+                    .hasRootCauseInstanceOf(SQLTransactionRollbackException.class);
+            assertThat(failures.get()).isZero();
+
+            assertThatThrownBy(() -> newRunner(connection).migrate(scripts(migration)))
+                    .isInstanceOf(MigrationException.class)
+                    .hasMessageContaining("V1");
+        }
+    }
+
+    /**
+     * Wrap a connection, so plain statements containing a given text fail as a deadlock victim, as long as there are
+     * failures left.
+     */
+    private static Connection deadlockingConnection(Connection connection, String text, AtomicInteger failures) {
+        ClassLoader classLoader = MigrationRunnerTest.class.getClassLoader();
+        return (Connection) Proxy.newProxyInstance(classLoader, new Class<?>[]{Connection.class},
+                (connectionProxy, connectionMethod, connectionArgs) -> {
+                    Object result = invoke(connection, connectionMethod, connectionArgs);
+                    if (!"createStatement".equals(connectionMethod.getName())) {
+                        return result;
+                    }
+
+                    return Proxy.newProxyInstance(classLoader, new Class<?>[]{Statement.class},
+                            (proxy, method, args) -> {
+                                if ("execute".equals(method.getName()) && ((String) args[0]).contains(text) &&
+                                        failures.get() > 0) {
+                                    failures.decrementAndGet();
+                                    throw new SQLTransactionRollbackException("Deadlock detected.", "40001");
+                                }
+                                return invoke(result, method, args);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static MigrationRunner newRunner(Connection connection) {
+        return new MigrationRunner(connection, new ScriptParser(), runner -> runner.autoCommit = true,
+                "runsql_schema_history");
+    }
+
+    private static List<ScriptObject> scripts(Path... scriptFiles) {
+        List<ScriptObject> scripts = new ArrayList<>();
+        for (Path scriptFile : scriptFiles) {
+            scripts.add(new ScriptObject(scriptFile.toFile(), null));
+        }
+        return scripts;
+    }
+}
@@ -0,0 +1,133 @@
+package com.nocwriter.runsql.script;
+
+import com.nocwriter.runsql.gradle.ScriptDependencies;
+import com.nocwriter.runsql.gradle.ScriptObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for {@link ParallelScriptRunner}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class ParallelScriptRunnerTest {
+
+    /**
+     * JDBC URL for HSQLDB in-memory database.
+     */
+    private static final String URL = "jdbc:hsqldb:mem:parallel";
+
+    /**
+     * Database username.
+     */
+    private static final String USERNAME = "SA";
+
+    /**
+     * Database password.
+     */
+    private static final String PASSWORD = "";
+
+    /**
+     * Test that all scripts are executed when running in parallel.
+     */
+    @Test
+    @DisplayName("Test should execute all scripts in parallel")
+    public void testShouldExecuteAllScripts() throws SQLException {
+        List<ScriptObject> scripts = Arrays.asList(
+                new ScriptObject(new String[]{
+                        "CREATE TABLE parallel_a (id INT);",
+                        "INSERT INTO parallel_a VALUES (1);"}),
+                new ScriptObject(new String[]{
+                        "CREATE TABLE parallel_b (id INT);",
+                        "INSERT INTO parallel_b VALUES (1);"}),
+                new ScriptObject(new String[]{
+                        "CREATE TABLE parallel_c (id INT);",
+                        "INSERT INTO parallel_c VALUES (1);"}));
+
+        newRunner().execute(scripts);
+
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT (SELECT COUNT(*) FROM parallel_a) + " +
+                    "(SELECT COUNT(*) FROM parallel_b) + (SELECT COUNT(*) FROM parallel_c) FROM (VALUES(0));");
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(3);
+        }
+    }
+
+    /**
+     * Test that a failure in one of the scripts fails the entire run and is reported with its line number.
+     */
+    @Test
+    @DisplayName("Test should report failed script")
+    public void testShouldReportFailedScript() {
+        List<ScriptObject> scripts = Arrays.asList(
+                new ScriptObject(new String[]{"CREATE TABLE parallel_d (id INT);"}),
+                new ScriptObject(new String[]{"", "INSERT INTO no_such_table VALUES (1);"}));
+
+        assertThatThrownBy(() -> newRunner().execute(scripts))
+                .isInstanceOf(ScriptRunnerException.class)
+                .hasMessageContaining("line: 2");
+    }
+
+    /**
+     * Test that a script declaring dependencies starts only after the scripts it depends on completed.
+     */
+    @Test
+    @DisplayName("Test should execute scripts in dependency order")
+    public void testShouldExecuteScriptsInDependencyOrder(@TempDir Path tempDir) throws IOException, SQLException {
+        Path orders = tempDir.resolve("orders.sql");
+        Files.write(orders, Arrays.asList("-- Sample orders.", "-- depends-on: customers.sql, products.sql",
+                "INSERT INTO parallel_orders SELECT c.id, p.id FROM parallel_customers c, parallel_products p;"));
+        Path customers = tempDir.resolve("customers.sql");
+        Files.write(customers, Arrays.asList("-- depends-on: schema.sql",
+                "INSERT INTO parallel_customers VALUES (1);"));
+        Path products = tempDir.resolve("products.sql");
+        Files.write(products, Arrays.asList("-- depends-on: schema.sql",
+                "INSERT INTO parallel_products VALUES (1);"));
+        Path schema = tempDir.resolve("schema.sql");
+        Files.write(schema, Arrays.asList("CREATE TABLE parallel_customers (id INT);",
+                "CREATE TABLE parallel_products (id INT);",
+                "CREATE TABLE parallel_orders (customer_id INT, product_id INT);"));
+
+        List<ScriptObject> scripts = new ArrayList<>();
+        for (Path scriptFile : Arrays.asList(orders, customers, products, schema)) {
+            scripts.add(new ScriptObject(scriptFile.toFile(), null));
+        }
+        newRunner().execute(ScriptDependencies.resolve(scripts));
+
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM parallel_orders");
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(1);
+        }
+    }
+
+    private static ParallelScriptRunner newRunner() {
+        return new ParallelScriptRunner(2,
+                () -> DriverManager.getConnection(URL, USERNAME, PASSWORD),
+                new ScriptParser(),
+                runner -> runner.autoCommit = true);
+    }
+}
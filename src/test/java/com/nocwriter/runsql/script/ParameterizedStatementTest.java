@@ -0,0 +1,44 @@
+package com.nocwriter.runsql.script;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for {@link ParameterizedStatement}.
+ *
+ * @author Guy Raz Nir
+ * @since 2026/10/18
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class ParameterizedStatementTest {
+
+    /**
+     * Test that literal values are extracted into parameters, while typed literals are kept as part of the shape.
+     */
+    @Test
+    @DisplayName("Test should extract literal values")
+    public void testShouldExtractLiteralValues() {
+        ParameterizedStatement statement = ParameterizedStatement.parse(
+                "INSERT INTO books (id, name, published) VALUES (-1, 'Book ''1''', DATE '1902-04-01');");
+
+        assertThat(statement).isNotNull();
+        assertThat(statement.shape)
+                .isEqualTo("INSERT INTO books (id, name, published) VALUES (?, ?, DATE '1902-04-01');");
+        assertThat(statement.values).containsExactly("-1", "Book '1'");
+        assertThat(statement.numeric).containsExactly(true, false);
+    }
+
+    /**
+     * Test that statements holding column ordinals (ORDER BY, GROUP BY) are not parameterized.
+     */
+    @Test
+    @DisplayName("Test should not parameterize column ordinals")
+    public void testShouldNotParameterizeColumnOrdinals() {
+        assertThat(ParameterizedStatement.parse(
+                "INSERT INTO books (id, name) SELECT id, name FROM drafts WHERE id > 5 ORDER BY 1, 2;")).isNull();
+        assertThat(ParameterizedStatement.parse(
+                "INSERT INTO totals (author, books) SELECT author, COUNT(*) FROM books GROUP BY 1, 'x';")).isNull();
+    }
+}
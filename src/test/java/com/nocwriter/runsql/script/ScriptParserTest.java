@@ -1,9 +1,21 @@
 package com.nocwriter.runsql.script;
 
+import com.nocwriter.runsql.gradle.ScriptObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -118,4 +130,367 @@ public class ScriptParserTest {
 
 
     }
+
+    /**
+     * Test that streaming a script from a reader yields the same statements as the original (line list) parser.
+     */
+    @Test
+    public void testShouldStreamStatementsFromReader() throws IOException {
+        String[] queryScript = {
+                "-- Comment line",
+                "SELECT *",
+                "FROM users;   SELECT * FROM projects;",
+                "",
+                "SELECT 'a;b' FROM dual"
+        };
+
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScript(new StringReader(String.join("\n", queryScript)))) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements)
+                .containsExactly(
+                        new SQLStatement(2, "SELECT *\nFROM users;"),
+                        new SQLStatement(2, "SELECT * FROM projects;"),
+                        new SQLStatement(5, "SELECT 'a;b' FROM dual"))
+                .isEqualTo(parseWithOriginalParser(Arrays.asList(queryScript), true));
+    }
+
+    /**
+     * Test that the char-buffer scanner produces the same statements (and line numbers) as the original parser, on
+     * mixed line terminators, several statements per line, statements spanning lines and comment lines.
+     */
+    @Test
+    public void testShouldMatchOriginalParser() throws IOException {
+        String script = "-- leading comment\r\n" +
+                "SELECT 1; SELECT 2;\n" +
+                "INSERT INTO t VALUES ('a;b', \"c'd\"); -- trailing; comment\r" +
+                "   \t\r\n" +
+                "SELECT *\r\n" +
+                "  -- comment within a statement\n" +
+                "FROM t WHERE a = '--'; UPDATE t\r" +
+                "SET a = 1; DELETE FROM t;   \n" +
+                "\n" +
+                "SELECT 'unterminated";
+
+        for (boolean keepNewlines : new boolean[]{true, false}) {
+            parser.keepNewlines = keepNewlines;
+            List<SQLStatement> statements = new ArrayList<>();
+            try (StatementSource iterator = parser.iterateScript(new StringReader(script))) {
+                iterator.forEachRemaining(statements::add);
+            }
+
+            List<SQLStatement> expected = parseWithOriginalParser(Arrays.asList(script.split("\r\n|\r|\n", -1)),
+                    keepNewlines);
+            assertThat(statements).hasSize(7).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Test that all line terminators ('\n', '\r' and "\r\n") are recognized when reading from a reader, including
+     * lines that are longer than the parser's internal buffer.
+     */
+    @Test
+    public void testShouldRecognizeAllLineTerminators() throws IOException {
+        StringBuilder longValue = new StringBuilder();
+        for (int index = 0; index < 20000; index++) {
+            longValue.append('x');
+        }
+        String longStatement = "SELECT '" + longValue + "' FROM dual;";
+
+        List<SQLStatement> statements = new ArrayList<>();
+        String script = "SELECT 1;\r\n-- comment\rSELECT\r\n2;\n" + longStatement + "\r\n";
+        try (StatementSource iterator = parser.iterateScript(new StringReader(script))) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).containsExactly(
+                new SQLStatement(1, "SELECT 1;"),
+                new SQLStatement(3, "SELECT\n2;"),
+                new SQLStatement(5, longStatement));
+    }
+
+    /**
+     * Test that a memory-mapped script is decoded correctly, including multibyte characters split between mapped
+     * windows.
+     */
+    @Test
+    public void testShouldParseMappedScriptFile(@TempDir Path tempDir) throws IOException {
+        String script = "INSERT INTO names VALUES ('\u00e9t\u00e9 \u65e5\u672c');\nSELECT '\u20ac' FROM dual;\n";
+        Path scriptFile = tempDir.resolve("script.sql");
+        Files.write(scriptFile, script.getBytes(StandardCharsets.UTF_8));
+
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScript(
+                new MappedFileReader(scriptFile, StandardCharsets.UTF_8, 5))) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).containsExactly(
+                new SQLStatement(1, "INSERT INTO names VALUES ('\u00e9t\u00e9 \u65e5\u672c');"),
+                new SQLStatement(2, "SELECT '\u20ac' FROM dual;"));
+    }
+
+    /**
+     * Test that a GZIP compressed script file is decompressed while being parsed.
+     */
+    @Test
+    public void testShouldParseCompressedScriptFile(@TempDir Path tempDir) throws IOException {
+        Path scriptFile = tempDir.resolve("script.sql.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(scriptFile))) {
+            out.write("SELECT 1;\nSELECT\n2;\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = new ScriptObject(scriptFile.toFile(), null).openStatements(parser)) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).containsExactly(
+                new SQLStatement(1, "SELECT 1;"),
+                new SQLStatement(2, "SELECT\n2;"));
+    }
+
+    /**
+     * Test that statements of a parsed script are recorded in the parse cache once the script is exhausted, and read
+     * back from it on the next run.
+     */
+    @Test
+    public void testShouldReadStatementsFromParseCache(@TempDir Path tempDir) throws IOException {
+        Path scriptFile = tempDir.resolve("script.sql");
+        Files.write(scriptFile, "SELECT 1;\n-- comment\nSELECT\n2;\n".getBytes(StandardCharsets.UTF_8));
+        File cacheDirectory = tempDir.resolve("cache").toFile();
+
+        List<List<SQLStatement>> runs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            ScriptObject scriptObject = new ScriptObject(scriptFile.toFile(), null);
+            scriptObject.parseCache = new ParseCache(cacheDirectory);
+
+            List<SQLStatement> statements = new ArrayList<>();
+            try (StatementSource iterator = scriptObject.openStatements(parser)) {
+                iterator.forEachRemaining(statements::add);
+            }
+            runs.add(statements);
+            assertThat(cacheDirectory.list()).hasSize(1);
+        }
+
+        assertThat(runs.get(1))
+                .containsExactly(new SQLStatement(1, "SELECT 1;"), new SQLStatement(3, "SELECT\n2;"))
+                .isEqualTo(runs.get(0));
+    }
+
+    /**
+     * Test that parsing a script in parallel yields the same statements (and line numbers) as parsing it sequentially,
+     * including statements spanning chunk boundaries.
+     */
+    @Test
+    public void testShouldParseInParallel() throws IOException {
+        String[] lines = {"SELECT 1;", "-- comment", "", "INSERT INTO t VALUES ('a;b', 1);", "SELECT *", "FROM t",
+                "WHERE a = 'x'; DELETE FROM t;", "UPDATE t SET a = '--';"};
+        StringBuilder script = new StringBuilder();
+        for (int index = 0; index < 200000; index++) {
+            script.append(lines[index % lines.length]).append(index % 3 == 0 ? "\r\n" : "\n");
+        }
+        script.append("SELECT 2");
+
+        List<SQLStatement> expected = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScript(new StringReader(script.toString()))) {
+            iterator.forEachRemaining(expected::add);
+        }
+
+        parser.parallelism = 4;
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScriptInParallel(new StringReader(script.toString()))) {
+            assertThat(iterator).isInstanceOf(ParallelStatementIterator.class);
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).isEqualTo(expected);
+        assertThat(statements.get(statements.size() - 1)).isEqualTo(new SQLStatement(200001, "SELECT 2"));
+    }
+
+    /**
+     * Test that a script with CR-only line breaks is split into chunks (rather than read as a single chunk), yielding
+     * the same statements as parsing it sequentially.
+     */
+    @Test
+    public void testShouldParseCROnlyScriptInParallel() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int index = 0; index < 300000; index++) {
+            script.append(index % 2 == 0 ? "SELECT\r" : "1;\r");
+        }
+
+        List<SQLStatement> expected = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScript(new StringReader(script.toString()))) {
+            iterator.forEachRemaining(expected::add);
+        }
+
+        parser.parallelism = 4;
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScriptInParallel(new StringReader(script.toString()))) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).hasSize(150000).isEqualTo(expected);
+        assertThat(statements.get(statements.size() - 1)).isEqualTo(new SQLStatement(299999, "SELECT\n1;"));
+    }
+
+    /**
+     * Test that statements following a statement spanning a chunk boundary, on the line it ends, are numbered as the
+     * sequential parser numbers them: by the line the spanning statement started on.
+     */
+    @Test
+    public void testShouldNumberStatementsAfterChunkBoundary() throws IOException {
+        // Pad the script, so the first chunk (1M characters) ends right after the first line of a multi-line statement.
+        StringBuilder script = new StringBuilder();
+        for (int index = 0; index < 104856; index++) {
+            script.append("SELECT 1;\n");
+        }
+        script.append("-- pad\n").append("SELECT *\n").append("FROM t; DELETE FROM t;\n").append("SELECT 2;\n");
+
+        List<SQLStatement> expected = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScript(new StringReader(script.toString()))) {
+            iterator.forEachRemaining(expected::add);
+        }
+
+        parser.parallelism = 2;
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = parser.iterateScriptInParallel(new StringReader(script.toString()))) {
+            iterator.forEachRemaining(statements::add);
+        }
+
+        assertThat(statements).isEqualTo(expected);
+        assertThat(statements.subList(statements.size() - 3, statements.size())).containsExactly(
+                new SQLStatement(104858, "SELECT *\nFROM t;"),
+                new SQLStatement(104858, "DELETE FROM t;"),
+                new SQLStatement(104860, "SELECT 2;"));
+    }
+
+    /**
+     * Test that statements parsed ahead on a background thread are returned in order, and that closing the source
+     * before it is exhausted stops the background thread.
+     */
+    @Test
+    public void testShouldParseAhead() throws IOException {
+        StringBuilder script = new StringBuilder();
+        List<SQLStatement> expected = new ArrayList<>();
+        for (int index = 1; index <= 100; index++) {
+            script.append("SELECT ").append(index).append(";\n");
+            expected.add(new SQLStatement(index, "SELECT " + index + ";"));
+        }
+
+        List<SQLStatement> statements = new ArrayList<>();
+        try (StatementSource iterator = new PipelinedStatementSource(
+                parser.iterateScript(new StringReader(script.toString())), 2, "test")) {
+            iterator.forEachRemaining(statements::add);
+        }
+        assertThat(statements).isEqualTo(expected);
+
+        try (StatementSource iterator = new PipelinedStatementSource(
+                parser.iterateScript(new StringReader(script.toString())), 2, "test")) {
+            assertThat(iterator.next()).isEqualTo(expected.get(0));
+        }
+    }
+
+    /**
+     * Test that dialect-specific blocks (dollar quotes, custom delimiters, batch separators) are not split.
+     */
+    @Test
+    public void testShouldSplitStatementsByDialect() {
+        parser.dialect = SQLDialect.POSTGRESQL;
+        assertThat(parser.parseScript(
+                "/* Functions. */",
+                "CREATE FUNCTION one() RETURNS int AS $$",
+                "BEGIN RETURN 1; END;",
+                "$$ LANGUAGE plpgsql;",
+                "SELECT one(); SELECT 'a;b';"))
+                .containsExactly(
+                        new SQLStatement(2, "CREATE FUNCTION one() RETURNS int AS $$\nBEGIN RETURN 1; END;\n" +
+                                "$$ LANGUAGE plpgsql;"),
+                        new SQLStatement(5, "SELECT one();"),
+                        new SQLStatement(5, "SELECT 'a;b';"));
+
+        parser.dialect = SQLDialect.MYSQL;
+        assertThat(parser.parseScript("DELIMITER //", "CREATE PROCEDURE p()", "BEGIN SELECT 1; END//", "DELIMITER ;",
+                "CALL p();"))
+                .containsExactly(
+                        new SQLStatement(2, "CREATE PROCEDURE p()\nBEGIN SELECT 1; END"),
+                        new SQLStatement(5, "CALL p();"));
+
+        parser.dialect = SQLDialect.SQLSERVER;
+        assertThat(parser.parseScript("CREATE TABLE t (id INT);", "INSERT INTO t VALUES (1);", "GO", "SELECT 1"))
+                .containsExactly(
+                        new SQLStatement(1, "CREATE TABLE t (id INT);\nINSERT INTO t VALUES (1);"),
+                        new SQLStatement(4, "SELECT 1"));
+
+        parser.dialect = SQLDialect.ORACLE;
+        assertThat(parser.parseScript("CREATE TABLE t (id NUMBER);", "CREATE OR REPLACE PROCEDURE p AS", "BEGIN",
+                "INSERT INTO t VALUES (1);", "END;", "/", "SELECT 'a;b' FROM dual; SELECT 2 FROM dual;"))
+                .containsExactly(
+                        new SQLStatement(1, "CREATE TABLE t (id NUMBER)"),
+                        new SQLStatement(2, "CREATE OR REPLACE PROCEDURE p AS\nBEGIN\nINSERT INTO t VALUES (1);\n" +
+                                "END;"),
+                        new SQLStatement(7, "SELECT 'a;b' FROM dual"),
+                        new SQLStatement(7, "SELECT 2 FROM dual"));
+    }
+
+    /**
+     * Reference implementation: the original parser, which parsed a list of lines in memory. Streaming parsers are
+     * expected to produce the very same statements and line numbers (including its quirks, e.g.: a statement following
+     * another on the same line is numbered by the line the previous statement started on).
+     */
+    private static List<SQLStatement> parseWithOriginalParser(List<String> sqlScript, boolean keepNewlines) {
+        int lineNumber = 0;
+        int statementLineNumber = 0;
+        StringBuilder buf = new StringBuilder();
+        List<SQLStatement> statements = new ArrayList<>();
+
+        for (String line : sqlScript) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.trim().startsWith("--")) {
+                continue;
+            }
+
+            if (buf.length() == 0) {
+                statementLineNumber = lineNumber;
+            } else {
+                buf.append(keepNewlines ? "\n" : " ");
+            }
+
+            char[] characters = line.toCharArray();
+            Character quotingChar = null;
+            for (int index = 0; index < characters.length; index++) {
+                if (quotingChar == null &&
+                        (index + 1 < characters.length) &&
+                        characters[index] == '-' &&
+                        characters[index + 1] == '-') {
+                    break;
+                }
+
+                buf.append(characters[index]);
+                if (characters[index] == '\'' || characters[index] == '"') {
+                    if (quotingChar == null) {
+                        quotingChar = characters[index];
+                    } else if (quotingChar == characters[index]) {
+                        quotingChar = null;
+                    }
+                }
+
+                if (quotingChar == null && characters[index] == ';') {
+                    statements.add(new SQLStatement(statementLineNumber, buf.toString()));
+                    buf.setLength(0);
+                    while (index + 1 < characters.length && Character.isWhitespace(characters[index + 1])) {
+                        index++;
+                    }
+                }
+            }
+        }
+
+        if (buf.length() > 0) {
+            statements.add(new SQLStatement(statementLineNumber, buf.toString()));
+        }
+
+        return statements;
+    }
 }
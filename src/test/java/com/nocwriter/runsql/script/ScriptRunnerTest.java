@@ -7,7 +7,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -93,4 +100,343 @@ public class ScriptRunnerTest {
         // We expect that the number of rows available is '1'.
         Assertions.assertThat(numberOfRows).isEqualTo(1);
     }
+
+    /**
+     * Test that consecutive DML statements are executed in batches and all of them are applied.
+     */
+    @Test
+    @DisplayName("Test should execute DML statements in batches")
+    public void testShouldExecuteStatementsInBatches() throws SQLException {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE batch_books (name VARCHAR(100));",
+                "INSERT INTO batch_books (name) VALUES ('Book 1');",
+                "INSERT INTO batch_books (name) VALUES ('Book 2');",
+                "INSERT INTO batch_books (name) VALUES ('Book 3');",
+                "UPDATE batch_books SET name = 'Book 0' WHERE name = 'Book 1';",
+                "INSERT INTO batch_books (name) VALUES ('Book 4');"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.batchSize = 2;
+        executor.executeSQL(scriptObject);
+
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM batch_books WHERE name <> 'Book 1';");
+            rs.next();
+            Assertions.assertThat(rs.getInt(1)).isEqualTo(4);
+        }
+    }
+
+    /**
+     * Test that a failure inside a batch is reported with the line number of the failing statement, and that the
+     * entries preceding it are reported as committed.
+     */
+    @Test
+    @DisplayName("Test should report line number of failed batch entry")
+    public void testShouldReportLineNumberOfFailedBatchEntry() {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE batch_failure (id INT PRIMARY KEY);",
+                "INSERT INTO batch_failure (id) VALUES (1);",
+                "INSERT INTO batch_failure (id) VALUES (2);",
+                "INSERT INTO batch_failure (id) VALUES (1);",
+                "INSERT INTO batch_failure (id) VALUES (3);"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        List<Long> checkpoints = new ArrayList<>();
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.batchSize = 10;
+        executor.listener = new ExecutionListener() {
+            @Override
+            public void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+                checkpoints.add(statementCount);
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> executor.executeSQL(scriptObject))
+                .isInstanceOf(ScriptRunnerException.class)
+                .hasMessageContaining("line: 4");
+        Assertions.assertThat(checkpoints).containsExactly(3L);
+    }
+
+    /**
+     * Test that execution metrics are recorded for every statement, including batched ones.
+     */
+    @Test
+    @DisplayName("Test should record statement metrics")
+    public void testShouldRecordStatementMetrics() {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE metrics_books (name VARCHAR(100));",
+                "INSERT INTO metrics_books (name) VALUES ('Book 1');",
+                "INSERT INTO metrics_books (name) VALUES ('Book 2');",
+                "SELECT * FROM metrics_books;"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        ExecutionMetrics metrics = new ExecutionMetrics(2);
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.batchSize = 10;
+        executor.metrics = metrics;
+        executor.executeSQL(scriptObject);
+
+        ExecutionMetrics.ScriptTotals totals = metrics.getScriptTotals().iterator().next();
+        Assertions.assertThat(totals.statements).isEqualTo(4);
+        Assertions.assertThat(totals.updateCount).isEqualTo(2);
+        Assertions.assertThat(totals.rowCount).isEqualTo(2);
+        Assertions.assertThat(metrics.getSlowestStatements()).hasSize(2);
+    }
+
+    /**
+     * Test that a script executed in chunks commits periodically, so statements committed before a failure are kept.
+     */
+    @Test
+    @DisplayName("Test should commit in chunks and report checkpoints")
+    public void testShouldCommitInChunks() throws SQLException {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE chunk_books (id INT PRIMARY KEY);",
+                "INSERT INTO chunk_books (id) VALUES (1);",
+                "INSERT INTO chunk_books (id) VALUES (2);",
+                "INSERT INTO chunk_books (id) VALUES (3);",
+                "INSERT INTO chunk_books (id) VALUES (1);"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        List<Integer> checkpoints = new ArrayList<>();
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.autoCommit = false;
+        executor.commitInterval = 2;
+        executor.listener = new ExecutionListener() {
+            @Override
+            public void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+                checkpoints.add(lastStatement.lineNumber);
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> executor.executeSQL(scriptObject))
+                .isInstanceOf(ScriptRunnerException.class)
+                .hasMessageContaining("line: 5");
+        connection.rollback();
+
+        Assertions.assertThat(checkpoints).containsExactly(2, 4);
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM chunk_books;");
+            rs.next();
+            Assertions.assertThat(rs.getInt(1)).isEqualTo(3);
+        }
+    }
+
+    /**
+     * Test that a failure in auto-commit mode reports the last committed statement, and that a script resumed past its
+     * committed statements executes only the remaining ones.
+     */
+    @Test
+    @DisplayName("Test should resume script after committed statements")
+    public void testShouldResumeAfterCommittedStatements() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE resume_books (id INT PRIMARY KEY);");
+            //noinspection SqlResolve
+            statement.execute("INSERT INTO resume_books (id) VALUES (2);");
+        }
+
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "INSERT INTO resume_books (id) VALUES (1);",
+                "INSERT INTO resume_books (id) VALUES (2);",
+                "INSERT INTO resume_books (id) VALUES (3);"
+        };
+
+        List<Long> checkpoints = new ArrayList<>();
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.listener = new ExecutionListener() {
+            @Override
+            public void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+                checkpoints.add(statementCount);
+            }
+        };
+
+        ScriptParser parser = new ScriptParser();
+        try (StatementSource statements = scriptObject.openStatements(parser)) {
+            Assertions.assertThatThrownBy(() -> executor.executeSQL(scriptObject, statements))
+                    .isInstanceOf(ScriptRunnerException.class)
+                    .hasMessageContaining("line: 2");
+        }
+        Assertions.assertThat(checkpoints).containsExactly(1L);
+
+        // Remove the cause of the failure and resume past the committed statement.
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            statement.execute("DELETE FROM resume_books WHERE id = 2;");
+        }
+        scriptObject.skipStatements = 1;
+        try (StatementSource statements = scriptObject.openStatements(parser)) {
+            executor.executeSQL(scriptObject, statements);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM resume_books;");
+            rs.next();
+            Assertions.assertThat(rs.getInt(1)).isEqualTo(3);
+        }
+    }
+
+    /**
+     * Test that INSERT statements of the same shape are executed via prepared statements, in script order, and that
+     * failures still report the failing line.
+     */
+    @Test
+    @DisplayName("Test should execute INSERT statements as prepared statements")
+    public void testShouldExecutePreparedStatements() throws SQLException {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE prepared_books (id INT PRIMARY KEY, name VARCHAR(100), published DATE);",
+                "INSERT INTO prepared_books (id, name, published) VALUES (1, 'Book 1', '1902-04-01');",
+                "INSERT INTO prepared_books (id, name, published) VALUES (2, 'Book ''2''', NULL);",
+                "INSERT INTO prepared_books (id, name) VALUES (3, 'Book 3');",
+                "UPDATE prepared_books SET name = 'Book 0' WHERE id = 1;",
+                "INSERT INTO prepared_books (id, name, published) VALUES (4, 'Book 4', DATE '1920-01-01');",
+                "INSERT INTO prepared_books (id, name, published) VALUES (5, 'Book 5', '1930-01-01');",
+                "INSERT INTO prepared_books (id, name, published) VALUES (5, 'Book 5', '1930-01-01');"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.batchSize = 10;
+        executor.prepareStatements = true;
+
+        Assertions.assertThatThrownBy(() -> executor.executeSQL(scriptObject))
+                .isInstanceOf(ScriptRunnerException.class)
+                .hasMessageContaining("line: 8");
+
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT name, published FROM prepared_books ORDER BY id;");
+            Assertions.assertThat(rs.next()).isTrue();
+            Assertions.assertThat(rs.getString(1)).isEqualTo("Book 0");
+            Assertions.assertThat(rs.getDate(2)).isEqualTo(Date.valueOf("1902-04-01"));
+            Assertions.assertThat(rs.next()).isTrue();
+            Assertions.assertThat(rs.getString(1)).isEqualTo("Book '2'");
+            Assertions.assertThat(rs.getDate(2)).isNull();
+        }
+    }
+
+    /**
+     * Test that consecutive single-row INSERT statements are coalesced, and that a failing coalesced statement is
+     * replayed row by row, reporting the failing line and the rows committed before it.
+     */
+    @Test
+    @DisplayName("Test should coalesce INSERT statements")
+    public void testShouldCoalesceInserts() throws SQLException {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE coalesced_books (id INT PRIMARY KEY, name VARCHAR(100));",
+                "INSERT INTO coalesced_books (id, name) VALUES (1, 'Book (1)');",
+                "INSERT INTO coalesced_books (id, name) VALUES (2, 'Book ''2''');",
+                "INSERT INTO coalesced_books (id, name) VALUES (3, 'Book 3');",
+                "INSERT INTO coalesced_books (id, name) VALUES (2, 'Book 2');",
+                "INSERT INTO coalesced_books (id, name) VALUES (4, 'Book 4');"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        List<Integer> checkpoints = new ArrayList<>();
+        ScriptRunner executor = new ScriptRunner(connection);
+        executor.coalesceInserts = 10;
+        executor.listener = new ExecutionListener() {
+            @Override
+            public void committed(ScriptObject scriptObject, SQLStatement lastStatement, long statementCount) {
+                checkpoints.add(lastStatement.lineNumber);
+                checkpoints.add((int) statementCount);
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> executor.executeSQL(scriptObject))
+                .isInstanceOf(ScriptRunnerException.class)
+                .hasMessageContaining("line: 5");
+        Assertions.assertThat(checkpoints).containsExactly(4, 4);
+
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT name FROM coalesced_books ORDER BY id;");
+            List<String> names = new ArrayList<>();
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+            Assertions.assertThat(names).containsExactly("Book (1)", "Book '2'", "Book 3");
+        }
+    }
+
+    /**
+     * Test that a chunk failing on a transient error is rolled back and replayed, rather than failing the script.
+     */
+    @Test
+    @DisplayName("Test should replay chunk after transient failure")
+    public void testShouldReplayChunkAfterTransientFailure() throws SQLException {
+        ScriptObject scriptObject = new ScriptObject();
+        scriptObject.script = new String[]{
+                "CREATE TABLE retried_books (id INT PRIMARY KEY);",
+                "INSERT INTO retried_books (id) VALUES (1);",
+                "INSERT INTO retried_books (id) VALUES (2);",
+                "INSERT INTO retried_books (id) VALUES (3);",
+                "INSERT INTO retried_books (id) VALUES (4);"
+        };
+        scriptObject.statements = new ScriptParser().parseScript(scriptObject.script);
+
+        // The last statement fails twice, as a deadlock victim would. Its chunk starts with the statement of line 4,
+        // which fails on a duplicate key if it is not rolled back before being replayed.
+        AtomicInteger failures = new AtomicInteger(2);
+        ScriptRunner executor = new ScriptRunner(deadlockingConnection("VALUES (4)", failures));
+        executor.autoCommit = false;
+        executor.commitInterval = 3;
+        executor.retryPolicy = new RetryPolicy(2);
+        executor.retryPolicy.initialBackoffMillis = 1;
+        executor.executeSQL(scriptObject);
+
+        Assertions.assertThat(failures.get()).isZero();
+        try (Statement statement = connection.createStatement()) {
+            //noinspection SqlResolve
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM retried_books;");
+            rs.next();
+            Assertions.assertThat(rs.getInt(1)).isEqualTo(4);
+        }
+    }
+
+    /**
+     * Wrap the test connection, so plain statements containing a given text fail as a deadlock victim, as long as
+     * there are failures left.
+     */
+    private Connection deadlockingConnection(String text, AtomicInteger failures) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        return (Connection) Proxy.newProxyInstance(classLoader, new Class<?>[]{Connection.class},
+                (connectionProxy, connectionMethod, connectionArgs) -> {
+                    Object result = invoke(connection, connectionMethod, connectionArgs);
+                    if (!"createStatement".equals(connectionMethod.getName())) {
+                        return result;
+                    }
+
+                    return Proxy.newProxyInstance(classLoader, new Class<?>[]{Statement.class},
+                            (proxy, method, args) -> {
+                                if ("execute".equals(method.getName()) && ((String) args[0]).contains(text) &&
+                                        failures.get() > 0) {
+                                    failures.decrementAndGet();
+                                    throw new SQLTransactionRollbackException("Deadlock detected.", "40001");
+                                }
+                                return invoke(result, method, args);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
 }